@@ -0,0 +1,300 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.function.CheckedFunction;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Concurrent cache holding limited number of entries, configured with {@link CacheSpec}.
+ * <p>
+ * Entries are spread over independently locked segments, each evicting its entries according to {@link EvictionPolicy}; locks are held only
+ * to look up or store entries, never while loading values. Expired entries are removed on access (or once evicted), while entries with collected
+ * values are also removed by the next write to their segment. {@code null} values are cached as any other value.
+ * <p>
+ * NOTE: concurrent loads of the same missing key are not coalesced, each caller invokes the loader (and the last one stores its value).
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class BoundedCache<K, V> {
+
+    private static final Object NULL = new Object();
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final CacheSpec spec;
+    private final Segment[] segments;
+
+    BoundedCache(CacheSpec spec) {
+        this.spec = spec;
+        int segmentCount = (int) Long.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, spec.getMaximumSize() / MIN_SEGMENT_CAPACITY)));
+        int segmentCapacity = (int) (spec.getMaximumSize() / segmentCount);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity, spec.getEvictionPolicy(), spec.getValueStrength() != CacheSpec.ValueStrength.STRONG);
+        }
+    }
+
+    /**
+     * Get value cached for provided key.
+     *
+     * @param key the key
+     * @return cached value or {@code null} if there is none (or {@code null} is cached)
+     */
+    public V getIfPresent(K key) {
+        return unmask(lookup(key));
+    }
+
+    /**
+     * Get value cached for provided key, loading it if absent.
+     * <p>
+     * Values are cached only if the loader completes successfully; failures are thrown as is and the next call invokes the loader again.
+     *
+     * @param key    the key
+     * @param loader {@link CheckedFunction} computing the value
+     * @param <X>    {@link Exception exception} type that is supported
+     * @return cached or loaded value
+     * @throws X exception thrown by the loader
+     */
+    public <X extends Exception> V get(K key, CheckedFunction<? super K, ? extends V, ? extends X> loader) throws X {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return unmask(cached);
+        }
+        V value = loader.applyWithException(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Store provided value, replacing any value already cached for the key.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        long expiresAt = spec.getExpireAfterWriteNanos() > 0 ? System.nanoTime() + spec.getExpireAfterWriteNanos() : 0;
+        Segment segment = segmentFor(key);
+        segment.store(key, new Entry(key, value == null ? NULL : value, value == null ? CacheSpec.ValueStrength.STRONG : spec.getValueStrength(),
+                segment.collected, expiresAt));
+    }
+
+    /**
+     * Remove value cached for provided key.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Remove all cached values.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Get the number of entries currently held (including expired ones that have not been removed yet).
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Object lookup(K key) {
+        return segmentFor(key).lookup(key);
+    }
+
+    private Segment segmentFor(Object key) {
+        return segments[hash(key) & (segments.length - 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unmask(Object value) {
+        return value == NULL ? null : (V) value;
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key) * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Cached value (possibly behind a {@link Reference} registered with the queue of its segment) with its expiration time.
+     */
+    private static final class Entry {
+
+        private final Object key;
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object key, Object value, CacheSpec.ValueStrength strength, ReferenceQueue<Object> queue, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+            switch (strength) {
+                case WEAK:
+                    this.value = new WeakValue(value, queue, this);
+                    break;
+                case SOFT:
+                    this.value = new SoftValue(value, queue, this);
+                    break;
+                default:
+                    this.value = value;
+            }
+        }
+
+        private Object value(long now) {
+            if (expiresAt != 0 && now - expiresAt >= 0) {
+                return null;
+            }
+            return value instanceof Reference ? ((Reference<?>) value).get() : value;
+        }
+
+    }
+
+    /**
+     * Weakly referenced value remembering the entry to be removed once it's collected.
+     */
+    private static final class WeakValue extends WeakReference<Object> {
+
+        private final Entry entry;
+
+        private WeakValue(Object value, ReferenceQueue<Object> queue, Entry entry) {
+            super(value, queue);
+            this.entry = entry;
+        }
+
+    }
+
+    /**
+     * Softly referenced value remembering the entry to be removed once it's collected.
+     */
+    private static final class SoftValue extends SoftReference<Object> {
+
+        private final Entry entry;
+
+        private SoftValue(Object value, ReferenceQueue<Object> queue, Entry entry) {
+            super(value, queue);
+            this.entry = entry;
+        }
+
+    }
+
+    /**
+     * Independently locked part of the cache: a window of recently stored entries followed (for {@link EvictionPolicy#W_TINY_LFU W-TinyLFU})
+     * by the main area guarded by frequency based admission.
+     */
+    private static final class Segment {
+
+        private final LinkedHashMap<Object, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Object, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+        private final int windowCapacity;
+        private final int mainCapacity;
+        private final FrequencySketch sketch;
+        private final ReferenceQueue<Object> collected;
+
+        private Segment(int capacity, EvictionPolicy evictionPolicy, boolean referencedValues) {
+            this.collected = referencedValues ? new ReferenceQueue<>() : null;
+            if (evictionPolicy == EvictionPolicy.W_TINY_LFU && capacity > 1) {
+                this.windowCapacity = Math.max(1, capacity / 100);
+                this.mainCapacity = capacity - windowCapacity;
+                this.sketch = new FrequencySketch(capacity);
+            } else {
+                this.windowCapacity = capacity;
+                this.mainCapacity = 0;
+                this.sketch = null;
+            }
+        }
+
+        private synchronized Object lookup(Object key) {
+            if (sketch != null) {
+                sketch.increment(hash(key));
+            }
+            Entry entry = window.get(key);
+            if (entry == null) {
+                entry = main.get(key);
+            }
+            if (entry == null) {
+                return null;
+            }
+            Object value = entry.value(System.nanoTime());
+            if (value == null) {
+                remove(key);
+            }
+            return value;
+        }
+
+        private synchronized void store(Object key, Entry entry) {
+            removeCollected();
+            if (main.containsKey(key)) {
+                main.put(key, entry);
+                return;
+            }
+            window.put(key, entry);
+            if (window.size() <= windowCapacity) {
+                return;
+            }
+            Iterator<Map.Entry<Object, Entry>> eldest = window.entrySet().iterator();
+            Map.Entry<Object, Entry> candidate = eldest.next();
+            eldest.remove();
+            if (mainCapacity == 0) {
+                return;
+            }
+            if (main.size() >= mainCapacity) {
+                Iterator<Map.Entry<Object, Entry>> victims = main.entrySet().iterator();
+                Map.Entry<Object, Entry> victim = victims.next();
+                if (sketch.frequency(hash(candidate.getKey())) <= sketch.frequency(hash(victim.getKey()))) {
+                    return;
+                }
+                victims.remove();
+            }
+            main.put(candidate.getKey(), candidate.getValue());
+        }
+
+        private void removeCollected() {
+            if (collected == null) {
+                return;
+            }
+            Reference<?> reference;
+            while ((reference = collected.poll()) != null) {
+                Entry entry = reference instanceof WeakValue ? ((WeakValue) reference).entry : ((SoftValue) reference).entry;
+                if (!window.remove(entry.key, entry)) {
+                    main.remove(entry.key, entry);
+                }
+            }
+        }
+
+        private synchronized void remove(Object key) {
+            if (window.remove(key) == null) {
+                main.remove(key);
+            }
+        }
+
+        private synchronized void clear() {
+            window.clear();
+            main.clear();
+        }
+
+        private synchronized int size() {
+            return window.size() + main.size();
+        }
+
+    }
+
+}
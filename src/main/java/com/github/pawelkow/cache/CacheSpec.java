@@ -0,0 +1,121 @@
+package com.github.pawelkow.cache;
+
+import java.time.Duration;
+
+/**
+ * Immutable specification of {@link BoundedCache}, e.g.
+ *
+ * <pre>
+ *  CheckedFunction&lt;Path, Config, IOException&gt; loader = wrap(this::parseConfig)
+ *          .memoize(CacheSpec.maximumSize(1_000)
+ *                  .evictionPolicy(EvictionPolicy.W_TINY_LFU)
+ *                  .expireAfterWrite(Duration.ofMinutes(5))
+ *                  .softValues());
+ * </pre>
+ */
+public final class CacheSpec {
+
+    private final long maximumSize;
+    private final EvictionPolicy evictionPolicy;
+    private final long expireAfterWriteNanos;
+    private final ValueStrength valueStrength;
+
+    private CacheSpec(long maximumSize, EvictionPolicy evictionPolicy, long expireAfterWriteNanos, ValueStrength valueStrength) {
+        this.maximumSize = maximumSize;
+        this.evictionPolicy = evictionPolicy;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.valueStrength = valueStrength;
+    }
+
+    /**
+     * Create specification of cache holding up to provided number of entries (evicted according to {@link EvictionPolicy#LRU LRU} policy,
+     * never expiring, with strongly referenced values, unless configured otherwise).
+     *
+     * @param maximumSize the maximum number of entries
+     * @return {@link CacheSpec}
+     */
+    public static CacheSpec maximumSize(long maximumSize) {
+        if (maximumSize <= 0 || maximumSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maximum size must be between 1 and " + Integer.MAX_VALUE + ": " + maximumSize);
+        }
+        return new CacheSpec(maximumSize, EvictionPolicy.LRU, 0, ValueStrength.STRONG);
+    }
+
+    /**
+     * Get specification with provided eviction policy.
+     *
+     * @param evictionPolicy {@link EvictionPolicy}
+     * @return {@link CacheSpec}
+     */
+    public CacheSpec evictionPolicy(EvictionPolicy evictionPolicy) {
+        return new CacheSpec(maximumSize, evictionPolicy, expireAfterWriteNanos, valueStrength);
+    }
+
+    /**
+     * Get specification of cache expiring entries once provided time elapses after they were stored.
+     *
+     * @param timeToLive time after which entries expire
+     * @return {@link CacheSpec}
+     */
+    public CacheSpec expireAfterWrite(Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+        }
+        return new CacheSpec(maximumSize, evictionPolicy, timeToLive.toNanos(), valueStrength);
+    }
+
+    /**
+     * Get specification of cache holding values with {@link java.lang.ref.WeakReference weak references}, i.e. values may be collected
+     * as soon as they are not referenced elsewhere.
+     *
+     * @return {@link CacheSpec}
+     */
+    public CacheSpec weakValues() {
+        return new CacheSpec(maximumSize, evictionPolicy, expireAfterWriteNanos, ValueStrength.WEAK);
+    }
+
+    /**
+     * Get specification of cache holding values with {@link java.lang.ref.SoftReference soft references}, i.e. values may be collected
+     * in response to memory demand.
+     *
+     * @return {@link CacheSpec}
+     */
+    public CacheSpec softValues() {
+        return new CacheSpec(maximumSize, evictionPolicy, expireAfterWriteNanos, ValueStrength.SOFT);
+    }
+
+    /**
+     * Build an empty cache according to this specification.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @return {@link BoundedCache}
+     */
+    public <K, V> BoundedCache<K, V> build() {
+        return new BoundedCache<>(this);
+    }
+
+    long getMaximumSize() {
+        return maximumSize;
+    }
+
+    EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    long getExpireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    ValueStrength getValueStrength() {
+        return valueStrength;
+    }
+
+    /**
+     * Strength of references to cached values.
+     */
+    enum ValueStrength {
+        STRONG, WEAK, SOFT
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.github.pawelkow.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free Bloom filter made of two generations: new hashes are added to the current one, lookups check both, and once the current generation
+ * is full or old enough it becomes the previous one (the oldest generation is dropped), so stale hashes decay away.
+ */
+final class DecayingBloomFilter {
+
+    private static final int HASHES = 5;
+
+    private final int bits;
+    private final int capacity;
+    private final long generationNanos;
+    private final AtomicReference<Generations> generations;
+
+    DecayingBloomFilter(int capacity, long generationNanos) {
+        this.bits = Integer.highestOneBit(Math.max(64, Math.min(capacity, 1 << 26) * 10 - 1)) << 1;
+        this.capacity = capacity;
+        this.generationNanos = generationNanos;
+        this.generations = new AtomicReference<>(new Generations(new Generation(bits), new Generation(bits), System.nanoTime()));
+    }
+
+    boolean mightContain(int hash) {
+        Generations current = generations.get();
+        return current.current.mightContain(hash) || current.previous.mightContain(hash);
+    }
+
+    void put(int hash) {
+        Generations current = rotateIfNeeded();
+        current.current.put(hash);
+    }
+
+    private Generations rotateIfNeeded() {
+        Generations current = generations.get();
+        boolean full = current.current.insertions.get() >= capacity;
+        boolean old = generationNanos > 0 && System.nanoTime() - current.createdAt >= generationNanos;
+        if (!full && !old) {
+            return current;
+        }
+        Generations rotated = new Generations(new Generation(bits), current.current, System.nanoTime());
+        return generations.compareAndSet(current, rotated) ? rotated : generations.get();
+    }
+
+    private static final class Generations {
+
+        private final Generation current;
+        private final Generation previous;
+        private final long createdAt;
+
+        private Generations(Generation current, Generation previous, long createdAt) {
+            this.current = current;
+            this.previous = previous;
+            this.createdAt = createdAt;
+        }
+
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        private final int mask;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private Generation(int bits) {
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.mask = bits - 1;
+        }
+
+        private boolean mightContain(int hash) {
+            int h2 = secondaryHash(hash);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (hash + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(int hash) {
+            int h2 = secondaryHash(hash);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (hash + i * h2) & mask;
+                long flag = 1L << bit;
+                while (true) {
+                    long word = words.get(bit >>> 6);
+                    if ((word & flag) != 0 || words.compareAndSet(bit >>> 6, word, word | flag)) {
+                        break;
+                    }
+                }
+            }
+            insertions.incrementAndGet();
+        }
+
+        private static int secondaryHash(int hash) {
+            int h = hash * 0x85ebca6b;
+            return (h ^ (h >>> 13)) | 1;
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.github.pawelkow.cache;
+
+/**
+ * Policy used by {@link BoundedCache} to choose entries evicted once the cache is full.
+ */
+public enum EvictionPolicy {
+    /**
+     * Evict the least recently used entry.
+     */
+    LRU,
+    /**
+     * Admit new entries through a small LRU window and keep them in the main area only if they are used more frequently than the entries
+     * they would replace (frequencies are estimated with a compact sketch), which protects frequently used entries from one-off scans.
+     */
+    W_TINY_LFU
+}
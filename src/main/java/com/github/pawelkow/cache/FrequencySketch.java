@@ -0,0 +1,62 @@
+package com.github.pawelkow.cache;
+
+/**
+ * Count-min sketch of small counters (one byte each, saturating at 15) estimating how often keys are used, halved periodically so that old popularity fades away.
+ * <p>
+ * NOTE: not thread-safe, guarded by the owning segment of {@link BoundedCache}.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0xc3a5c85c, 0x9ae16a3b, 0x8ebc6af0};
+
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int width = Integer.highestOneBit(Math.max(16, Math.min(capacity, 1 << 26) * 8 - 1)) << 1;
+        this.counters = new byte[width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, counters[index(hash, i)]);
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = index(hash, i);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+        }
+        additions >>>= 1;
+    }
+
+    private int index(int hash, int depth) {
+        int h = (hash ^ SEEDS[depth]) * 0x9e3779b9;
+        h ^= h >>> 15;
+        h *= 0x85ebca6b;
+        return (h ^ (h >>> 13)) & mask;
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.exception.resolver.ReferenceResolver;
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Failures;
+
+import java.time.Duration;
+
+/**
+ * {@link CheckedSupplier} that computes its value at most once and then supplies it without any locking, e.g.
+ *
+ * <pre>
+ *  CheckedSupplier&lt;KeyStore, GeneralSecurityException&gt; keyStore = wrap(this::loadKeyStore)
+ *          .lazy(Lazy.FailurePolicy.cacheFor(Duration.ofSeconds(30)));
+ * </pre>
+ * <p>
+ * The value is computed by the first caller while the others wait for it (double-checked locking); once computed, reads are a single volatile read.
+ * What happens on failure depends on {@link FailurePolicy}: the next call may compute the value again, the failure may be rethrown for some period
+ * (without computing the value), or a fallback value resolved by {@link ReferenceResolver} may be supplied instead (for that call only).
+ *
+ * @param <T> the type of results supplied by this supplier
+ * @param <X> {@link Exception exception} type that is supported
+ */
+public final class Lazy<T, X extends Exception> implements CheckedSupplier<T, X> {
+
+    private static final Object UNINITIALIZED = new Object();
+
+    private final CheckedSupplier<? extends T, ? extends X> supplier;
+    private final FailurePolicy<T> failurePolicy;
+    private volatile Object state = UNINITIALIZED;
+
+    private Lazy(CheckedSupplier<? extends T, ? extends X> supplier, FailurePolicy<T> failurePolicy) {
+        this.supplier = supplier;
+        this.failurePolicy = failurePolicy;
+    }
+
+    /**
+     * Create lazy version of provided supplier that computes the value again after each failure.
+     *
+     * @param supplier {@link CheckedSupplier} computing the value
+     * @param <T>      the type of results supplied by the supplier
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return {@link Lazy}
+     */
+    public static <T, X extends Exception> Lazy<T, X> of(CheckedSupplier<? extends T, ? extends X> supplier) {
+        return of(supplier, FailurePolicy.retry());
+    }
+
+    /**
+     * Create lazy version of provided supplier that handles failures according to provided policy.
+     *
+     * @param supplier      {@link CheckedSupplier} computing the value
+     * @param failurePolicy {@link FailurePolicy} applied when the computation fails
+     * @param <T>           the type of results supplied by the supplier
+     * @param <X>           {@link Exception exception} type that is supported
+     * @return {@link Lazy}
+     */
+    public static <T, X extends Exception> Lazy<T, X> of(CheckedSupplier<? extends T, ? extends X> supplier, FailurePolicy<T> failurePolicy) {
+        return new Lazy<>(supplier, failurePolicy);
+    }
+
+    /**
+     * Verify if the value is already computed.
+     *
+     * @return {@code true} if the value is available, otherwise {@code false}
+     */
+    public boolean isInitialized() {
+        Object current = state;
+        return current != UNINITIALIZED && !(current instanceof Failure);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getWithException() throws X {
+        Object current = state;
+        if (current == UNINITIALIZED) {
+            return initialize();
+        }
+        if (current instanceof Failure) {
+            if (((Failure) current).isActive()) {
+                throw Failures.<X>propagate(((Failure) current).exception);
+            }
+            return initialize();
+        }
+        return (T) current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized T initialize() throws X {
+        Object current = state;
+        if (current instanceof Failure && ((Failure) current).isActive()) {
+            throw Failures.<X>propagate(((Failure) current).exception);
+        }
+        if (current != UNINITIALIZED && !(current instanceof Failure)) {
+            return (T) current;
+        }
+        T value;
+        try {
+            value = supplier.getWithException();
+        } catch (Exception exception) {
+            if (failurePolicy.resolver != null) {
+                return failurePolicy.resolver.resolve(exception);
+            }
+            if (failurePolicy.cacheNanos > 0) {
+                state = new Failure(exception, System.nanoTime() + failurePolicy.cacheNanos);
+            }
+            throw exception;
+        }
+        state = value;
+        return value;
+    }
+
+    /**
+     * Failure of the computation rethrown until its expiration.
+     */
+    private static final class Failure {
+
+        private final Exception exception;
+        private final long expiresAt;
+
+        private Failure(Exception exception, long expiresAt) {
+            this.exception = exception;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isActive() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+
+    }
+
+    /**
+     * Policy applied by {@link Lazy} when computation of the value fails.
+     *
+     * @param <T> the type of the value
+     */
+    public static final class FailurePolicy<T> {
+
+        private static final FailurePolicy<?> RETRY = new FailurePolicy<>(0, null);
+
+        private final long cacheNanos;
+        private final ReferenceResolver<? extends T> resolver;
+
+        private FailurePolicy(long cacheNanos, ReferenceResolver<? extends T> resolver) {
+            this.cacheNanos = cacheNanos;
+            this.resolver = resolver;
+        }
+
+        /**
+         * Get policy that throws the failure and computes the value again on the next call.
+         *
+         * @param <T> the type of the value
+         * @return {@link FailurePolicy}
+         */
+        @SuppressWarnings("unchecked")
+        public static <T> FailurePolicy<T> retry() {
+            return (FailurePolicy<T>) RETRY;
+        }
+
+        /**
+         * Get policy that throws the failure and keeps rethrowing it (without computing the value) until provided period elapses.
+         *
+         * @param period time for which the failure is cached
+         * @param <T>    the type of the value
+         * @return {@link FailurePolicy}
+         */
+        public static <T> FailurePolicy<T> cacheFor(Duration period) {
+            if (period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Period must be positive: " + period);
+            }
+            return new FailurePolicy<>(period.toNanos(), null);
+        }
+
+        /**
+         * Get policy that resolves the failure with provided resolver and supplies resolved value instead; the fallback is not kept as the value,
+         * so the lazy stays uninitialized and the value is computed again on the next call.
+         *
+         * @param resolver {@link ReferenceResolver exception resolver} capable of providing object references as fallback values
+         * @param <T>      the type of the value
+         * @return {@link FailurePolicy}
+         */
+        public static <T> FailurePolicy<T> fallback(ReferenceResolver<? extends T> resolver) {
+            return new FailurePolicy<>(0, resolver);
+        }
+
+    }
+
+}
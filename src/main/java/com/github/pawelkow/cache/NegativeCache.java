@@ -0,0 +1,259 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.CheckedPredicate;
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.CheckedToIntFunction;
+import com.github.pawelkow.function.Failures;
+
+import java.lang.reflect.Constructor;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Cache of inputs that failed with configured exception types, so that subsequent invocations for them fail immediately without calling the delegate, e.g.
+ *
+ * <pre>
+ *  NegativeCache&lt;String&gt; unknownIds = NegativeCache.inCaseOf(NoSuchFileException.class)
+ *          .maximumSize(100_000)
+ *          .expireAfter(Duration.ofMinutes(10))
+ *          .build();
+ *
+ *  ids.stream().map(unknownIds.decorate(wrap(this::load)).handleException(new ReferenceHandler&lt;Document&gt;()
+ *          .inCaseOf(NoSuchFileException.class).returnValue(Document.EMPTY)
+ *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new)));
+ * </pre>
+ * <p>
+ * Remembered inputs fail with a new exception of the same type and message as the one thrown originally, so they are resolved by the exception
+ * handling strategy exactly as before, while the original exception itself is not retained nor shared between callers. Only failures that can be
+ * recreated this way (i.e. with a public {@code (String)} constructor) are remembered; failures of other types (and successful invocations) are not
+ * remembered at all.
+ * <p>
+ * Inputs are remembered in an exact {@link BoundedCache} (the key of an input is compared with {@link Object#equals(Object)}) guarded by a lock-free,
+ * time-decaying Bloom filter, so invocations for inputs that never failed don't touch the cache at all.
+ *
+ * @param <T> the type of the input
+ */
+public final class NegativeCache<T> {
+
+    private final Predicate<Throwable> remembered;
+    private final BoundedCache<T, Failure> failures;
+    private final DecayingBloomFilter filter;
+
+    private NegativeCache(Builder builder) {
+        this.remembered = builder.remembered;
+        CacheSpec spec = CacheSpec.maximumSize(builder.maximumSize);
+        this.failures = builder.expireAfterNanos > 0 ? spec.expireAfterWrite(Duration.ofNanos(builder.expireAfterNanos)).build() : spec.build();
+        this.filter = new DecayingBloomFilter(builder.maximumSize, builder.expireAfterNanos);
+    }
+
+    /**
+     * Get builder of cache remembering inputs that failed with provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should be remembered
+     * @return {@link Builder}
+     */
+    public static Builder inCaseOf(Collection<? extends Class<? extends Throwable>> exceptionTypes) {
+        return new Builder(Failures.anyOf(exceptionTypes));
+    }
+
+    /**
+     * Get builder of cache remembering inputs that failed with provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should be remembered
+     * @return {@link Builder}
+     */
+    @SafeVarargs
+    public static Builder inCaseOf(Class<? extends Throwable>... exceptionTypes) {
+        return inCaseOf(Arrays.asList(exceptionTypes));
+    }
+
+    /**
+     * Verify if provided input is remembered as failing.
+     *
+     * @param input the input
+     * @return {@code true} if the input is remembered, otherwise {@code false}
+     */
+    public boolean isRemembered(T input) {
+        return rememberedFailure(input) != null;
+    }
+
+    /**
+     * Forget remembered failure of provided input.
+     *
+     * @param input the input
+     */
+    public void forget(T input) {
+        failures.invalidate(input);
+    }
+
+    /**
+     * Get function that fails immediately for remembered inputs.
+     *
+     * @param function {@link CheckedFunction} to be decorated
+     * @param <R>      the type of the result of the function
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return decorated {@link CheckedFunction}
+     */
+    public <R, X extends Exception> CheckedFunction<T, R, X> decorate(CheckedFunction<? super T, ? extends R, ? extends X> function) {
+        return t -> this.<R, X>invoke(t, () -> function.applyWithException(t));
+    }
+
+    /**
+     * Get predicate that fails immediately for remembered inputs.
+     *
+     * @param predicate {@link CheckedPredicate} to be decorated
+     * @param <X>       {@link Exception exception} type that is supported
+     * @return decorated {@link CheckedPredicate}
+     */
+    public <X extends Exception> CheckedPredicate<T, X> decoratePredicate(CheckedPredicate<? super T, ? extends X> predicate) {
+        return t -> {
+            this.<X>checkNotRemembered(t);
+            try {
+                return predicate.testWithException(t);
+            } catch (Exception exception) {
+                remember(t, exception);
+                throw exception;
+            }
+        };
+    }
+
+    /**
+     * Get function that fails immediately for remembered inputs.
+     *
+     * @param function {@link CheckedToIntFunction} to be decorated
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return decorated {@link CheckedToIntFunction}
+     */
+    public <X extends Exception> CheckedToIntFunction<T, X> decorateToIntFunction(CheckedToIntFunction<? super T, ? extends X> function) {
+        return t -> {
+            this.<X>checkNotRemembered(t);
+            try {
+                return function.applyAsIntWithException(t);
+            } catch (Exception exception) {
+                remember(t, exception);
+                throw exception;
+            }
+        };
+    }
+
+    private <R, X extends Exception> R invoke(T input, CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+        this.<X>checkNotRemembered(input);
+        try {
+            return invocation.getWithException();
+        } catch (Exception exception) {
+            remember(input, exception);
+            throw exception;
+        }
+    }
+
+    private <X extends Exception> void checkNotRemembered(T input) throws X {
+        Failure failure = rememberedFailure(input);
+        Exception exception = failure == null ? null : failure.recreate();
+        if (exception != null) {
+            throw Failures.<X>propagate(exception);
+        }
+    }
+
+    private void remember(T input, Exception exception) {
+        if (remembered.test(exception)) {
+            Failure failure = Failure.of(exception);
+            if (failure != null) {
+                failures.put(input, failure);
+                filter.put(Objects.hashCode(input));
+            }
+        }
+    }
+
+    private Failure rememberedFailure(T input) {
+        return filter.mightContain(Objects.hashCode(input)) ? failures.getIfPresent(input) : null;
+    }
+
+    /**
+     * Immutable description of remembered failure, recreating its exception for every rejected invocation.
+     */
+    private static final class Failure {
+
+        private final Constructor<? extends Exception> constructor;
+        private final String message;
+
+        private Failure(Constructor<? extends Exception> constructor, String message) {
+            this.constructor = constructor;
+            this.message = message;
+        }
+
+        private static Failure of(Exception exception) {
+            try {
+                return new Failure(exception.getClass().getConstructor(String.class), exception.getMessage());
+            } catch (NoSuchMethodException | SecurityException ex) {
+                return null;
+            }
+        }
+
+        private Exception recreate() {
+            try {
+                return constructor.newInstance(message);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                return null;
+            }
+        }
+
+    }
+
+    /**
+     * Builder of {@link NegativeCache}.
+     */
+    public static final class Builder {
+
+        private final Predicate<Throwable> remembered;
+        private int maximumSize = 10_000;
+        private long expireAfterNanos;
+
+        private Builder(Predicate<Throwable> remembered) {
+            this.remembered = remembered;
+        }
+
+        /**
+         * Configure the maximum number of remembered inputs (10000 by default).
+         *
+         * @param maximumSize the maximum number of inputs
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Configure how long inputs are remembered (until evicted by newer ones by default).
+         *
+         * @param timeToLive time after which remembered input is forgotten
+         * @return this builder
+         */
+        public Builder expireAfter(Duration timeToLive) {
+            if (timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+            }
+            this.expireAfterNanos = timeToLive.toNanos();
+            return this;
+        }
+
+        /**
+         * Build configured (empty) cache.
+         *
+         * @param <T> the type of the input
+         * @return {@link NegativeCache}
+         */
+        public <T> NegativeCache<T> build() {
+            return new NegativeCache<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.function.CheckedLongFunction;
+import com.github.pawelkow.function.CheckedLongToDoubleFunction;
+import com.github.pawelkow.function.CheckedLongToIntFunction;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Concurrent cache of values computed for primitive keys ({@code int} keys are widened to {@code long}), either
+ * <ul>
+ *     <li>{@link #maximumSize(int) bounded} - open addressing table split into buckets of four slots, where the new entry of a full bucket replaces
+ *     randomly selected one, or</li>
+ *     <li>{@link #range(long, long) dense} - array with a slot for every key of small bounded range; keys out of the range are never cached.</li>
+ * </ul>
+ * <p>
+ * Keys and {@code int} or {@code double} values are stored unboxed; looking a value up is lock-free and allocates nothing, only storing one allocates
+ * its (immutable) entry. {@code null} values are cached as any other value.
+ * <p>
+ * NOTE: concurrent loads of the same missing key are not coalesced, each caller invokes the loader (and the last one stores its value).
+ */
+public final class PrimitiveCache {
+
+    private static final int WAYS = 4;
+    private static final int MAX_RANGE = 1 << 24;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final boolean dense;
+    private final long minKey;
+    private final int buckets;
+    private final int ways;
+
+    private PrimitiveCache(boolean dense, long minKey, int buckets, int ways) {
+        this.slots = new AtomicReferenceArray<>(buckets * ways);
+        this.dense = dense;
+        this.minKey = minKey;
+        this.buckets = buckets;
+        this.ways = ways;
+    }
+
+    /**
+     * Create empty cache holding at most provided number of entries (rounded down to a power of two).
+     *
+     * @param maximumSize the maximum number of entries
+     * @return {@link PrimitiveCache}
+     */
+    public static PrimitiveCache maximumSize(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        int ways = Math.min(WAYS, Integer.highestOneBit(maximumSize));
+        return new PrimitiveCache(false, 0, Integer.highestOneBit(maximumSize / ways), ways);
+    }
+
+    /**
+     * Create empty cache with a slot for every key of provided range (of at most 2<sup>24</sup> keys).
+     *
+     * @param minKey the minimum cached key (inclusive)
+     * @param maxKey the maximum cached key (inclusive)
+     * @return {@link PrimitiveCache}
+     */
+    public static PrimitiveCache range(long minKey, long maxKey) {
+        if (maxKey < minKey || maxKey - minKey < 0 || maxKey - minKey >= MAX_RANGE) {
+            throw new IllegalArgumentException("Range must contain between 1 and " + MAX_RANGE + " keys: [" + minKey + ", " + maxKey + "]");
+        }
+        return new PrimitiveCache(true, minKey, (int) (maxKey - minKey + 1), 1);
+    }
+
+    /**
+     * Get value cached for provided key, loading it if absent.
+     * <p>
+     * Values are cached only if the loader completes successfully; failures are thrown as is and the next call invokes the loader again.
+     *
+     * @param key    the key
+     * @param loader {@link CheckedLongFunction} computing the value
+     * @param <V>    the type of the value
+     * @param <X>    {@link Exception exception} type that is supported
+     * @return cached or loaded value
+     * @throws X exception thrown by the loader
+     */
+    @SuppressWarnings("unchecked")
+    public <V, X extends Exception> V get(long key, CheckedLongFunction<? extends V, ? extends X> loader) throws X {
+        Entry entry = lookup(key);
+        if (entry != null) {
+            return (V) entry.reference;
+        }
+        V value = loader.applyWithException(key);
+        store(new Entry(key, 0, value));
+        return value;
+    }
+
+    /**
+     * Get {@code int} value cached for provided key, loading it if absent.
+     *
+     * @param key    the key
+     * @param loader {@link CheckedLongToIntFunction} computing the value
+     * @param <X>    {@link Exception exception} type that is supported
+     * @return cached or loaded value
+     * @throws X exception thrown by the loader
+     * @see #get(long, CheckedLongFunction)
+     */
+    public <X extends Exception> int getAsInt(long key, CheckedLongToIntFunction<? extends X> loader) throws X {
+        Entry entry = lookup(key);
+        if (entry != null) {
+            return (int) entry.bits;
+        }
+        int value = loader.applyAsIntWithException(key);
+        store(new Entry(key, value, null));
+        return value;
+    }
+
+    /**
+     * Get {@code double} value cached for provided key, loading it if absent.
+     *
+     * @param key    the key
+     * @param loader {@link CheckedLongToDoubleFunction} computing the value
+     * @param <X>    {@link Exception exception} type that is supported
+     * @return cached or loaded value
+     * @throws X exception thrown by the loader
+     * @see #get(long, CheckedLongFunction)
+     */
+    public <X extends Exception> double getAsDouble(long key, CheckedLongToDoubleFunction<? extends X> loader) throws X {
+        Entry entry = lookup(key);
+        if (entry != null) {
+            return Double.longBitsToDouble(entry.bits);
+        }
+        double value = loader.applyAsDoubleWithException(key);
+        store(new Entry(key, Double.doubleToRawLongBits(value), null));
+        return value;
+    }
+
+    /**
+     * Verify if there is a value cached for provided key.
+     *
+     * @param key the key
+     * @return {@code true} if the value is cached, otherwise {@code false}
+     */
+    public boolean contains(long key) {
+        return lookup(key) != null;
+    }
+
+    /**
+     * Remove all cached values.
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    /**
+     * Get the number of cached values (as observed while traversing the slots).
+     *
+     * @return the number of cached values
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private Entry lookup(long key) {
+        int first = firstSlot(key);
+        if (first < 0) {
+            return null;
+        }
+        for (int i = first; i < first + ways; i++) {
+            Entry entry = slots.get(i);
+            if (entry != null && entry.key == key) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void store(Entry entry) {
+        int first = firstSlot(entry.key);
+        if (first < 0) {
+            return;
+        }
+        for (int i = first; i < first + ways; i++) {
+            Entry current = slots.get(i);
+            if (current == null && slots.compareAndSet(i, null, entry)) {
+                return;
+            }
+            if (current != null && current.key == entry.key) {
+                slots.set(i, entry);
+                return;
+            }
+        }
+        slots.set(first + ThreadLocalRandom.current().nextInt(ways), entry);
+    }
+
+    private int firstSlot(long key) {
+        if (dense) {
+            return key >= minKey && key - minKey < buckets ? (int) (key - minKey) : -1;
+        }
+        return (spread(key) & (buckets - 1)) * ways;
+    }
+
+    private static int spread(long key) {
+        long hash = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (hash ^ (hash >>> 33));
+    }
+
+    /**
+     * Immutable key with its value, either {@code int} or {@code double} bits or object reference.
+     */
+    private static final class Entry {
+
+        private final long key;
+        private final long bits;
+        private final Object reference;
+
+        private Entry(long key, long bits, Object reference) {
+            this.key = key;
+            this.bits = bits;
+            this.reference = reference;
+        }
+
+    }
+
+}
@@ -0,0 +1,206 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.concurrent.CheckedFutures;
+import com.github.pawelkow.exception.handler.VoidHandler;
+import com.github.pawelkow.exception.resolver.VoidResolver;
+import com.github.pawelkow.function.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link CheckedSupplier} that caches its value and reloads it in the background shortly before it expires, e.g.
+ *
+ * <pre>
+ *  CheckedSupplier&lt;Config, IOException&gt; config = RefreshingSupplier.of(wrap(this::readConfig), Duration.ofMinutes(1))
+ *          .refreshAhead(Duration.ofSeconds(10))
+ *          .onReloadFailure(new VoidHandler().inCaseOf(IOException.class).handle(log::warn).discard())
+ *          .build();
+ * </pre>
+ * <p>
+ * Only the very first call computes the value in the calling thread (other callers wait for it, failures are thrown as is). From then on the current
+ * value is supplied with a single volatile read: once it's near expiry, the call that notices it starts a reload with provided executor and returns
+ * the current value without waiting. At most one reload is in flight at a time.
+ * <p>
+ * If the reload fails (or is rejected by the executor), the failure is reported to provided {@link VoidResolver} and the previous (stale) value is still
+ * supplied until the next reload, attempted once the refresh ahead period elapses again. Reporting a rejected reload never fails the calling reader,
+ * i.e. exceptions thrown by the resolver in that case are ignored.
+ *
+ * @param <T> the type of results supplied by this supplier
+ * @param <X> {@link Exception exception} type that is supported
+ */
+public final class RefreshingSupplier<T, X extends Exception> implements CheckedSupplier<T, X> {
+
+    private final CheckedSupplier<? extends T, ? extends X> supplier;
+    private final long timeToLiveNanos;
+    private final long refreshAheadNanos;
+    private final Executor executor;
+    private final VoidResolver failureResolver;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Snapshot<T> snapshot;
+
+    private RefreshingSupplier(Builder<T, X> builder) {
+        this.supplier = builder.supplier;
+        this.timeToLiveNanos = builder.timeToLive.toNanos();
+        this.refreshAheadNanos = Math.min(builder.refreshAhead.toNanos(), timeToLiveNanos);
+        this.executor = builder.executor;
+        this.failureResolver = builder.failureResolver;
+    }
+
+    /**
+     * Get builder of supplier caching values of provided one for provided time.
+     *
+     * @param supplier   {@link CheckedSupplier} loading the value
+     * @param timeToLive time after which the value expires
+     * @param <T>        the type of results supplied by the supplier
+     * @param <X>        {@link Exception exception} type that is supported
+     * @return {@link Builder}
+     */
+    public static <T, X extends Exception> Builder<T, X> of(CheckedSupplier<? extends T, ? extends X> supplier, Duration timeToLive) {
+        return new Builder<>(supplier, timeToLive);
+    }
+
+    @Override
+    public T getWithException() throws X {
+        Snapshot<T> current = snapshot;
+        if (current == null) {
+            return initialize();
+        }
+        if (System.nanoTime() - current.refreshAt >= 0 && reloading.compareAndSet(false, true)) {
+            startReload(current);
+        }
+        return current.value;
+    }
+
+    private synchronized T initialize() throws X {
+        Snapshot<T> current = snapshot;
+        if (current == null) {
+            current = load(supplier.getWithException());
+            snapshot = current;
+        }
+        return current.value;
+    }
+
+    private void startReload(Snapshot<T> stale) {
+        try {
+            executor.execute(() -> reload(stale));
+        } catch (RejectedExecutionException rejected) {
+            snapshot = postpone(stale);
+            reloading.set(false);
+            try {
+                failureResolver.resolve(rejected);
+            } catch (RuntimeException ignored) {
+                //the reader is served the current value regardless of the outcome of the reload
+            }
+        }
+    }
+
+    private void reload(Snapshot<T> stale) {
+        try {
+            snapshot = load(supplier.getWithException());
+        } catch (Exception exception) {
+            failureResolver.resolve(exception);
+        } finally {
+            if (snapshot == stale) {
+                snapshot = postpone(stale);
+            }
+            reloading.set(false);
+        }
+    }
+
+    private Snapshot<T> postpone(Snapshot<T> stale) {
+        return new Snapshot<>(stale.value, System.nanoTime() + Math.max(1, refreshAheadNanos));
+    }
+
+    private Snapshot<T> load(T value) {
+        return new Snapshot<>(value, System.nanoTime() + timeToLiveNanos - refreshAheadNanos);
+    }
+
+    /**
+     * Value together with the time its reload should start.
+     */
+    private static final class Snapshot<T> {
+
+        private final T value;
+        private final long refreshAt;
+
+        private Snapshot(T value, long refreshAt) {
+            this.value = value;
+            this.refreshAt = refreshAt;
+        }
+
+    }
+
+    /**
+     * Builder of {@link RefreshingSupplier}.
+     *
+     * @param <T> the type of results supplied by the supplier
+     * @param <X> {@link Exception exception} type that is supported
+     */
+    public static final class Builder<T, X extends Exception> {
+
+        private final CheckedSupplier<? extends T, ? extends X> supplier;
+        private final Duration timeToLive;
+        private Duration refreshAhead;
+        private Executor executor = CheckedFutures.defaultExecutor();
+        private VoidResolver failureResolver = new VoidHandler().inAnyCase().discard();
+
+        private Builder(CheckedSupplier<? extends T, ? extends X> supplier, Duration timeToLive) {
+            if (timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+            }
+            this.supplier = supplier;
+            this.timeToLive = timeToLive;
+            this.refreshAhead = timeToLive.dividedBy(5);
+        }
+
+        /**
+         * Configure how long before expiration the value is reloaded (one fifth of time to live by default).
+         *
+         * @param refreshAhead time before expiration
+         * @return this builder
+         */
+        public Builder<T, X> refreshAhead(Duration refreshAhead) {
+            if (refreshAhead.isNegative()) {
+                throw new IllegalArgumentException("Refresh ahead must not be negative: " + refreshAhead);
+            }
+            this.refreshAhead = refreshAhead;
+            return this;
+        }
+
+        /**
+         * Configure executor used to reload the value ({@link CheckedFutures#defaultExecutor() shared one} by default).
+         *
+         * @param executor {@link Executor} used to reload the value
+         * @return this builder
+         */
+        public Builder<T, X> using(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Configure resolver of reload failures (ignored by default).
+         *
+         * @param failureResolver {@link VoidResolver} consuming failures of reloads
+         * @return this builder
+         */
+        public Builder<T, X> onReloadFailure(VoidResolver failureResolver) {
+            this.failureResolver = failureResolver;
+            return this;
+        }
+
+        /**
+         * Build configured supplier (with no value loaded yet).
+         *
+         * @return {@link RefreshingSupplier}
+         */
+        public RefreshingSupplier<T, X> build() {
+            return new RefreshingSupplier<>(this);
+        }
+
+    }
+
+}
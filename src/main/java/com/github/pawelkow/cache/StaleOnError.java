@@ -0,0 +1,169 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.Failures;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Memory of the last successful result per input, supplied instead of failures of configured exception types, e.g.
+ *
+ * <pre>
+ *  StaleOnError&lt;String, Quote&gt; lastQuotes = StaleOnError.inCaseOf(SocketTimeoutException.class, ConnectException.class)
+ *          .maximumSize(10_000)
+ *          .expireAfter(Duration.ofMinutes(15))
+ *          .build();
+ *
+ *  symbols.stream().map(lastQuotes.decorate(wrap(this::fetchQuote)).handleException(new ReferenceHandler&lt;Quote&gt;()
+ *          .inCaseOf(IOException.class).returnValue(Quote.UNKNOWN)));
+ * </pre>
+ * <p>
+ * Every successful invocation replaces the remembered result of its input; when an invocation fails with one of configured types, the remembered
+ * (possibly stale) result is returned instead. If there is none (the input never succeeded, was evicted or expired), the failure is thrown as is,
+ * so it's still resolved by any exception handling strategy. Failures of other types are always thrown.
+ * <p>
+ * Results are kept in a {@link BoundedCache} (the key of an input is compared with {@link Object#equals(Object)}), so the memory stays bounded.
+ *
+ * @param <T> the type of the input
+ * @param <R> the type of the result
+ */
+public final class StaleOnError<T, R> {
+
+    private static final Object NULL = new Object();
+
+    private final Predicate<Throwable> tolerated;
+    private final BoundedCache<T, Object> results;
+
+    private StaleOnError(Builder builder) {
+        this.tolerated = builder.tolerated;
+        CacheSpec spec = CacheSpec.maximumSize(builder.maximumSize);
+        this.results = builder.expireAfterNanos > 0 ? spec.expireAfterWrite(Duration.ofNanos(builder.expireAfterNanos)).build() : spec.build();
+    }
+
+    /**
+     * Get builder of memory supplying last results instead of failures of provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should be tolerated
+     * @return {@link Builder}
+     */
+    public static Builder inCaseOf(Collection<? extends Class<? extends Throwable>> exceptionTypes) {
+        return new Builder(Failures.anyOf(exceptionTypes));
+    }
+
+    /**
+     * Get builder of memory supplying last results instead of failures of provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should be tolerated
+     * @return {@link Builder}
+     */
+    @SafeVarargs
+    public static Builder inCaseOf(Class<? extends Throwable>... exceptionTypes) {
+        return inCaseOf(Arrays.asList(exceptionTypes));
+    }
+
+    /**
+     * Verify if there is a result remembered for provided input.
+     *
+     * @param input the input
+     * @return {@code true} if the result is remembered, otherwise {@code false}
+     */
+    public boolean isRemembered(T input) {
+        return results.getIfPresent(input) != null;
+    }
+
+    /**
+     * Forget remembered result of provided input.
+     *
+     * @param input the input
+     */
+    public void forget(T input) {
+        results.invalidate(input);
+    }
+
+    /**
+     * Get function that returns the last successful result of the input in case of tolerated failure.
+     *
+     * @param function {@link CheckedFunction} to be decorated
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return decorated {@link CheckedFunction}
+     */
+    public <X extends Exception> CheckedFunction<T, R, X> decorate(CheckedFunction<? super T, ? extends R, ? extends X> function) {
+        return t -> {
+            R result;
+            try {
+                result = function.applyWithException(t);
+            } catch (Exception exception) {
+                Object remembered = tolerated.test(exception) ? results.getIfPresent(t) : null;
+                if (remembered == null) {
+                    throw exception;
+                }
+                return remembered == NULL ? null : unwrap(remembered);
+            }
+            results.put(t, result == null ? NULL : result);
+            return result;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private R unwrap(Object remembered) {
+        return (R) remembered;
+    }
+
+    /**
+     * Builder of {@link StaleOnError}.
+     */
+    public static final class Builder {
+
+        private final Predicate<Throwable> tolerated;
+        private int maximumSize = 10_000;
+        private long expireAfterNanos;
+
+        private Builder(Predicate<Throwable> tolerated) {
+            this.tolerated = tolerated;
+        }
+
+        /**
+         * Configure the maximum number of remembered results (10000 by default).
+         *
+         * @param maximumSize the maximum number of results
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Configure how long results are remembered, i.e. how stale they may get (until evicted by newer ones by default).
+         *
+         * @param timeToLive time after which remembered result is forgotten
+         * @return this builder
+         */
+        public Builder expireAfter(Duration timeToLive) {
+            if (timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+            }
+            this.expireAfterNanos = timeToLive.toNanos();
+            return this;
+        }
+
+        /**
+         * Build configured (empty) memory.
+         *
+         * @param <T> the type of the input
+         * @param <R> the type of the result
+         * @return {@link StaleOnError}
+         */
+        public <T, R> StaleOnError<T, R> build() {
+            return new StaleOnError<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Caches for results of checked functional interfaces.
+ */
+package com.github.pawelkow.cache;
@@ -0,0 +1,30 @@
+package com.github.pawelkow.concurrent;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Thrown when every alternative of {@link Race} failed; failures of all alternatives are available as {@link #getSuppressed() suppressed} exceptions.
+ */
+public class AllFailedException extends Exception {
+
+    /**
+     * Used to construct new exception.
+     *
+     * @param failures failures of all alternatives (in order of the alternatives)
+     */
+    public AllFailedException(List<? extends Throwable> failures) {
+        super("All " + failures.size() + " alternatives failed", failures.isEmpty() ? null : failures.get(0));
+        failures.forEach(this::addSuppressed);
+    }
+
+    /**
+     * Gets failures of all alternatives.
+     *
+     * @return list of failures (in order of the alternatives)
+     */
+    public List<Throwable> getFailures() {
+        return Arrays.asList(getSuppressed());
+    }
+
+}
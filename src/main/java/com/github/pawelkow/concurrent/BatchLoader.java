@@ -0,0 +1,288 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.Failures;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CheckedFunction} collecting inputs of concurrent invocations into batches resolved with a single bulk invocation, e.g.
+ *
+ * <pre>
+ *  BatchLoader&lt;Long, User, SQLException&gt; users = BatchLoader.of(wrap(repository::findAllById))
+ *          .maxBatchSize(100)
+ *          .maxDelay(Duration.ofMillis(5))
+ *          .build();
+ *
+ *  orders.parallelStream().map(Order::getUserId).map(users.handleException(new ReferenceHandler&lt;User&gt;()
+ *          .inCaseOf(NoSuchElementException.class).returnValue(User.UNKNOWN)
+ *          .inCaseOf(SQLException.class).rethrow(DataAccessException::new)));
+ * </pre>
+ * <p>
+ * The first input of a batch starts a dispatcher with provided executor; the batch is dispatched once it reaches the maximum size, the maximum delay
+ * elapses or {@link #dispatch()} is called, whichever comes first. Equal inputs of the same batch are loaded only once. If the executor rejects
+ * the dispatcher, every input of the batch fails with {@link RejectedExecutionException} without waiting.
+ * <p>
+ * Each invocation supplies the result mapped to its input by the bulk function; an input missing from the map fails with {@link NoSuchElementException}
+ * and a failure of the bulk function fails every input of the batch with the very same exception, so both may be resolved by the exception handling
+ * strategy per element. Invocations wait for their batch (without being interruptible); use {@link #loadAsync(Object)} to collect inputs from a single
+ * thread, e.g. a sequential stream.
+ *
+ * @param <T> the type of the input
+ * @param <R> the type of the result
+ * @param <X> {@link Exception exception} type that is supported
+ */
+public final class BatchLoader<T, R, X extends Exception> implements CheckedFunction<T, R, X> {
+
+    private final CheckedFunction<? super List<T>, ? extends Map<? extends T, ? extends R>, ? extends X> bulkFunction;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Executor executor;
+    private Batch current;
+
+    private BatchLoader(Builder<T, R, X> builder) {
+        this.bulkFunction = builder.bulkFunction;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Get builder of loader dispatching batches of inputs to provided bulk function.
+     *
+     * @param bulkFunction {@link CheckedFunction} mapping list of distinct inputs to their results
+     * @param <T>          the type of the input
+     * @param <R>          the type of the result
+     * @param <X>          {@link Exception exception} type that is supported
+     * @return {@link Builder}
+     */
+    public static <T, R, X extends Exception> Builder<T, R, X> of(
+            CheckedFunction<? super List<T>, ? extends Map<? extends T, ? extends R>, ? extends X> bulkFunction) {
+        return new Builder<>(bulkFunction);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R applyWithException(T t) throws X {
+        Outcome outcome = enqueue(t);
+        try {
+            return (R) outcome.join();
+        } catch (CompletionException ex) {
+            throw Failures.<X>propagate(outcome.failure);
+        }
+    }
+
+    /**
+     * Add provided input to the current batch without waiting for it to be dispatched.
+     * <p>
+     * Returned future completes exceptionally with the failure of the bulk function as is (or with {@link NoSuchElementException} if the input is missing
+     * from the results). Every call gets its own future, so completing or cancelling it affects no other caller of an equal input.
+     *
+     * @param t the input
+     * @return {@link CompletableFuture} of the result
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<R> loadAsync(T t) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        enqueue(t).whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete((R) value);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Dispatch current batch (if any) immediately, without waiting for it to be full or the delay to elapse.
+     */
+    public void dispatch() {
+        Batch batch;
+        synchronized (this) {
+            batch = current;
+            current = null;
+        }
+        if (batch != null) {
+            batch.sealed.countDown();
+        }
+    }
+
+    private Outcome enqueue(T t) {
+        Batch started = null;
+        Batch full = null;
+        Outcome outcome;
+        synchronized (this) {
+            if (current == null) {
+                current = started = new Batch();
+            }
+            outcome = current.outcomes.computeIfAbsent(t, key -> new Outcome());
+            if (current.outcomes.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            full.sealed.countDown();
+        }
+        if (started != null) {
+            try {
+                executor.execute(started);
+            } catch (RejectedExecutionException rejected) {
+                started.fail(rejected);
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Distinct inputs waiting for the same bulk invocation, dispatched once sealed or once the maximum delay elapses.
+     */
+    private final class Batch implements Runnable {
+
+        private final Map<T, Outcome> outcomes = new LinkedHashMap<>();
+        private final CountDownLatch sealed = new CountDownLatch(1);
+
+        @Override
+        public void run() {
+            boolean interrupted = false;
+            try {
+                sealed.await(maxDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+            List<T> inputs;
+            synchronized (BatchLoader.this) {
+                if (current == this) {
+                    current = null;
+                }
+                inputs = new ArrayList<>(outcomes.keySet());
+            }
+            resolve(inputs);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void fail(Throwable failure) {
+            synchronized (BatchLoader.this) {
+                if (current == this) {
+                    current = null;
+                }
+            }
+            outcomes.values().forEach(outcome -> outcome.fail(failure));
+        }
+
+        private void resolve(List<T> inputs) {
+            Map<? extends T, ? extends R> results;
+            try {
+                results = bulkFunction.applyWithException(inputs);
+            } catch (Throwable failure) {
+                fail(failure);
+                return;
+            }
+            for (Map.Entry<T, Outcome> entry : outcomes.entrySet()) {
+                if (results != null && results.containsKey(entry.getKey())) {
+                    entry.getValue().complete(results.get(entry.getKey()));
+                } else {
+                    entry.getValue().fail(new NoSuchElementException("No result for input: " + entry.getKey()));
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Result of single input, keeping the failure as is.
+     */
+    private static final class Outcome extends CompletableFuture<Object> {
+
+        private volatile Throwable failure;
+
+        private void fail(Throwable failure) {
+            this.failure = failure;
+            completeExceptionally(failure);
+        }
+
+    }
+
+    /**
+     * Builder of {@link BatchLoader}.
+     *
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     * @param <X> {@link Exception exception} type that is supported
+     */
+    public static final class Builder<T, R, X extends Exception> {
+
+        private final CheckedFunction<? super List<T>, ? extends Map<? extends T, ? extends R>, ? extends X> bulkFunction;
+        private int maxBatchSize = 100;
+        private Duration maxDelay = Duration.ofMillis(10);
+        private Executor executor = CheckedFutures.defaultExecutor();
+
+        private Builder(CheckedFunction<? super List<T>, ? extends Map<? extends T, ? extends R>, ? extends X> bulkFunction) {
+            this.bulkFunction = bulkFunction;
+        }
+
+        /**
+         * Configure the maximum number of distinct inputs of a batch (100 by default).
+         *
+         * @param maxBatchSize the maximum size of a batch
+         * @return this builder
+         */
+        public Builder<T, R, X> maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("Maximum batch size must be positive: " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Configure the maximum time the first input of a batch waits for others (10 milliseconds by default).
+         *
+         * @param maxDelay the maximum delay of a batch
+         * @return this builder
+         */
+        public Builder<T, R, X> maxDelay(Duration maxDelay) {
+            if (maxDelay.isNegative()) {
+                throw new IllegalArgumentException("Maximum delay must not be negative: " + maxDelay);
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Configure executor used to dispatch batches ({@link CheckedFutures#defaultExecutor() shared one} by default).
+         *
+         * @param executor {@link Executor} used to dispatch batches
+         * @return this builder
+         */
+        public Builder<T, R, X> using(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Build configured loader.
+         *
+         * @return {@link BatchLoader}
+         */
+        public BatchLoader<T, R, X> build() {
+            return new BatchLoader<>(this);
+        }
+
+    }
+
+}
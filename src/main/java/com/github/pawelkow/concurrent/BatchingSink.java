@@ -0,0 +1,371 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.VoidHandler;
+import com.github.pawelkow.exception.resolver.VoidResolver;
+import com.github.pawelkow.function.CheckedConsumer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link Consumer} buffering items for a bulk {@link CheckedConsumer} (e.g. batch insert, buffered write or bulk send), e.g.
+ *
+ * <pre>
+ *  try (BatchingSink&lt;Row&gt; sink = BatchingSink.of(wrap(dao::insertAll))
+ *          .maxBatchSize(500)
+ *          .maxBatchBytes(1 &lt;&lt; 20, Row::estimatedSize)
+ *          .maxDelay(Duration.ofMillis(200))
+ *          .onFlushFailure(new VoidHandler().inCaseOf(SQLException.class).handle(log::error).discard())
+ *          .build()) {
+ *      rows.parallelStream().forEach(sink);
+ *  }
+ * </pre>
+ * <p>
+ * Items are buffered in independently locked stripes selected by the producing thread, so producers rarely contend. A stripe is flushed by the producer
+ * that fills it (by count or estimated size), or by a background flusher (started with provided executor only while any item is buffered) once its
+ * oldest item has waited for the maximum delay. {@link #flush()} and {@link #close()} flush all stripes immediately; {@link #close()} also waits
+ * for batches being written by other threads (e.g. the background flusher) at that time.
+ * <p>
+ * Failures of the bulk consumer are reported to provided {@link VoidResolver}, together with the items of the failed batch being dropped.
+ * <p>
+ * NOTE: batches of different stripes may be flushed concurrently (so the bulk consumer has to be thread-safe) and items are kept in order only within
+ * a batch.
+ *
+ * @param <T> the type of items
+ */
+public final class BatchingSink<T> implements Consumer<T>, AutoCloseable {
+
+    private final CheckedConsumer<? super List<T>, ?> bulkConsumer;
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+    private final ToLongFunction<? super T> weigher;
+    private final long maxDelayNanos;
+    private final VoidResolver failureResolver;
+    private final Executor executor;
+    private final Stripe<T>[] stripes;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicInteger writing = new AtomicInteger();
+    private volatile boolean closed;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BatchingSink(Builder<T> builder) {
+        this.bulkConsumer = builder.bulkConsumer;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxBatchBytes = builder.maxBatchBytes;
+        this.weigher = builder.weigher;
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.failureResolver = builder.failureResolver;
+        this.executor = builder.executor;
+        this.stripes = new Stripe[builder.stripes];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Get builder of sink flushing items to provided bulk consumer.
+     *
+     * @param bulkConsumer {@link CheckedConsumer} of batches of items
+     * @param <T>          the type of items
+     * @return {@link Builder}
+     */
+    public static <T> Builder<T> of(CheckedConsumer<? super List<T>, ?> bulkConsumer) {
+        return new Builder<>(bulkConsumer);
+    }
+
+    /**
+     * Buffer provided item, flushing the batch of the stripe if it's full.
+     *
+     * @param t the item
+     * @throws IllegalStateException if the sink is closed
+     */
+    @Override
+    public void accept(T t) {
+        long hash = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+        Stripe<T> stripe = stripes[(int) (hash >>> 32) & (stripes.length - 1)];
+        List<T> full = null;
+        synchronized (stripe) {
+            if (closed) {
+                throw new IllegalStateException("Sink is closed");
+            }
+            if (stripe.items.isEmpty()) {
+                stripe.firstAddedAt = System.nanoTime();
+            }
+            stripe.items.add(t);
+            stripe.bytes += weigher.applyAsLong(t);
+            if (stripe.items.size() >= maxBatchSize || stripe.bytes >= maxBatchBytes) {
+                full = drain(stripe);
+            }
+        }
+        if (full != null) {
+            write(full);
+        } else {
+            startFlusher();
+        }
+    }
+
+    /**
+     * Flush items buffered by all stripes.
+     */
+    public void flush() {
+        for (Stripe<T> stripe : stripes) {
+            List<T> batch;
+            synchronized (stripe) {
+                batch = stripe.items.isEmpty() ? null : drain(stripe);
+            }
+            if (batch != null) {
+                write(batch);
+            }
+        }
+    }
+
+    /**
+     * Flush remaining items, wait for batches still being written and reject any further items.
+     * <p>
+     * NOTE: waiting is not interruptible, the interruption status is restored once all batches are written.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        flush();
+        boolean interrupted = false;
+        synchronized (writing) {
+            while (writing.get() > 0) {
+                try {
+                    writing.wait();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Take items of provided stripe (while holding its lock) to be passed to {@link #write(List)}.
+     */
+    private List<T> drain(Stripe<T> stripe) {
+        writing.incrementAndGet();
+        return stripe.drain();
+    }
+
+    private void write(List<T> batch) {
+        try {
+            bulkConsumer.acceptWithException(batch);
+        } catch (Exception exception) {
+            failureResolver.resolve(exception);
+        } finally {
+            if (writing.decrementAndGet() == 0) {
+                synchronized (writing) {
+                    writing.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void startFlusher() {
+        if (maxDelayNanos > 0 && !flushing.get() && flushing.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flushExpired);
+            } catch (RejectedExecutionException rejected) {
+                flushing.set(false);
+            }
+        }
+    }
+
+    private void flushExpired() {
+        boolean completed = false;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long wakeUpAt = now;
+                boolean pending = false;
+                for (Stripe<T> stripe : stripes) {
+                    List<T> expired = null;
+                    synchronized (stripe) {
+                        if (!stripe.items.isEmpty() && now - stripe.firstAddedAt >= maxDelayNanos) {
+                            expired = drain(stripe);
+                        } else if (!stripe.items.isEmpty()) {
+                            long expiresAt = stripe.firstAddedAt + maxDelayNanos;
+                            if (!pending || expiresAt - wakeUpAt < 0) {
+                                wakeUpAt = expiresAt;
+                            }
+                            pending = true;
+                        }
+                    }
+                    if (expired != null) {
+                        try {
+                            write(expired);
+                        } catch (RuntimeException rethrown) {
+                            // already reported to the resolver, flusher keeps running
+                        }
+                    }
+                }
+                if (pending) {
+                    LockSupport.parkNanos(this, wakeUpAt - System.nanoTime());
+                } else {
+                    flushing.set(false);
+                    if (isEmpty() || !flushing.compareAndSet(false, true)) {
+                        completed = true;
+                        return;
+                    }
+                }
+            }
+        } finally {
+            if (!completed) {
+                flushing.set(false);
+            }
+        }
+    }
+
+    private boolean isEmpty() {
+        for (Stripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.items.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Items buffered by producers of the same stripe together with their estimated size.
+     */
+    private static final class Stripe<T> {
+
+        private List<T> items = new ArrayList<>();
+        private long bytes;
+        private long firstAddedAt;
+
+        private List<T> drain() {
+            List<T> batch = items;
+            items = new ArrayList<>();
+            bytes = 0;
+            return batch;
+        }
+
+    }
+
+    /**
+     * Builder of {@link BatchingSink}.
+     *
+     * @param <T> the type of items
+     */
+    public static final class Builder<T> {
+
+        private final CheckedConsumer<? super List<T>, ?> bulkConsumer;
+        private int maxBatchSize = 100;
+        private long maxBatchBytes = Long.MAX_VALUE;
+        private ToLongFunction<? super T> weigher = item -> 0;
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private VoidResolver failureResolver = new VoidHandler().inAnyCase().discard();
+        private Executor executor = CheckedFutures.defaultExecutor();
+        private int stripes = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+
+        private Builder(CheckedConsumer<? super List<T>, ?> bulkConsumer) {
+            this.bulkConsumer = bulkConsumer;
+        }
+
+        /**
+         * Configure the maximum number of items of a batch (100 by default).
+         *
+         * @param maxBatchSize the maximum size of a batch
+         * @return this builder
+         */
+        public Builder<T> maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("Maximum batch size must be positive: " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Configure the maximum estimated size of a batch (unlimited by default); batch is flushed as soon as it's reached.
+         *
+         * @param maxBatchBytes the maximum estimated size of a batch
+         * @param weigher       function estimating the size of an item
+         * @return this builder
+         */
+        public Builder<T> maxBatchBytes(long maxBatchBytes, ToLongFunction<? super T> weigher) {
+            if (maxBatchBytes <= 0) {
+                throw new IllegalArgumentException("Maximum batch bytes must be positive: " + maxBatchBytes);
+            }
+            this.maxBatchBytes = maxBatchBytes;
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Configure the maximum time an item waits in the buffer (1 second by default); zero disables time based flushing.
+         *
+         * @param maxDelay the maximum delay of an item
+         * @return this builder
+         */
+        public Builder<T> maxDelay(Duration maxDelay) {
+            if (maxDelay.isNegative()) {
+                throw new IllegalArgumentException("Maximum delay must not be negative: " + maxDelay);
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Configure resolver of flush failures (ignored by default).
+         *
+         * @param failureResolver {@link VoidResolver} consuming failures of the bulk consumer
+         * @return this builder
+         */
+        public Builder<T> onFlushFailure(VoidResolver failureResolver) {
+            this.failureResolver = failureResolver;
+            return this;
+        }
+
+        /**
+         * Configure the number of independently locked stripes (twice the number of processors by default, rounded up to a power of two).
+         *
+         * @param stripes the number of stripes
+         * @return this builder
+         */
+        public Builder<T> stripes(int stripes) {
+            if (stripes <= 0 || stripes > 1 << 16) {
+                throw new IllegalArgumentException("Stripes must be between 1 and 65536: " + stripes);
+            }
+            this.stripes = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+            return this;
+        }
+
+        /**
+         * Configure executor running the flusher of expired items ({@link CheckedFutures#defaultExecutor() shared one} by default).
+         *
+         * @param executor {@link Executor} running the flusher
+         * @return this builder
+         */
+        public Builder<T> using(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Build configured (empty) sink.
+         *
+         * @return {@link BatchingSink}
+         */
+        public BatchingSink<T> build() {
+            return new BatchingSink<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.exception.resolver.ReferenceResolver;
+import com.github.pawelkow.function.Checked;
+import com.github.pawelkow.function.CheckedFunction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Bulk operations applying {@link CheckedFunction} to every input with a limited number of concurrent invocations, e.g.
+ *
+ * <pre>
+ *  List&lt;byte[]&gt; contents = BoundedParallelism.of(64)
+ *          .map(paths, Files::readAllBytes, new ReferenceHandler&lt;byte[]&gt;()
+ *                  .inCaseOf(NoSuchFileException.class).returnValue(new byte[0])
+ *                  .inCaseOf(IOException.class).rethrow(UncheckedIOException::new));
+ * </pre>
+ * <p>
+ * Unlike {@link Collection#parallelStream() parallel streams} (sized to the number of CPU cores) this is meant for blocking, I/O bound operations.
+ * Unless an explicit {@link Executor} is provided, every bulk operation runs on virtual threads if the runtime supports them (Java 21+)
+ * or on a pool of platform threads limited to the maximum concurrency otherwise.
+ */
+public final class BoundedParallelism {
+
+    private final int maxConcurrency;
+    private final Executor executor;
+
+    private BoundedParallelism(int maxConcurrency, Executor executor) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+    }
+
+    /**
+     * Create bulk operations limited to provided number of concurrent invocations.
+     *
+     * @param maxConcurrency maximum number of concurrent invocations
+     * @return {@link BoundedParallelism}
+     */
+    public static BoundedParallelism of(int maxConcurrency) {
+        return new BoundedParallelism(maxConcurrency, null);
+    }
+
+    /**
+     * Get bulk operations that run invocations with provided executor instead of the default one.
+     *
+     * @param executor {@link Executor} used to run invocations
+     * @return {@link BoundedParallelism}
+     */
+    public BoundedParallelism using(Executor executor) {
+        return new BoundedParallelism(maxConcurrency, executor);
+    }
+
+    /**
+     * Apply the function to every input and collect results in input order.
+     * <p>
+     * Any exception that could be thrown will be rethrown based on {@link Checked#RETHROW_UNCHECKED default strategy}.
+     *
+     * @param inputs   {@link Collection} of inputs
+     * @param function {@link CheckedFunction} to be applied
+     * @param <T>      the type of the input to the function
+     * @param <R>      the type of the result of the function
+     * @return {@link List} of results
+     * @throws InterruptedException if calling thread was interrupted while waiting for invocations to complete
+     */
+    public <T, R> List<R> map(Collection<? extends T> inputs, CheckedFunction<? super T, ? extends R, ?> function) throws InterruptedException {
+        return map(inputs.iterator(), function, new ReferenceHandler<R>().inCaseOf(Exception.class).handle(Checked.RETHROW_UNCHECKED).discard());
+    }
+
+    /**
+     * Apply the function to every input and collect results in input order.
+     *
+     * @param inputs   {@link Collection} of inputs
+     * @param function {@link CheckedFunction} to be applied
+     * @param resolver {@link ReferenceResolver exception resolver} applied to failure of every single invocation
+     * @param <T>      the type of the input to the function
+     * @param <R>      the type of the result of the function
+     * @return {@link List} of results
+     * @throws InterruptedException if calling thread was interrupted while waiting for invocations to complete
+     */
+    public <T, R> List<R> map(Collection<? extends T> inputs, CheckedFunction<? super T, ? extends R, ?> function,
+                              ReferenceResolver<? extends R> resolver) throws InterruptedException {
+        return map(inputs.iterator(), function, resolver);
+    }
+
+    /**
+     * Apply the function to every input and collect results in input order.
+     * <p>
+     * Inputs are pulled from the iterator only when there's a free slot for the next invocation. If the resolver rethrows any exception,
+     * no further inputs are pulled and the first failure (in input order) is rethrown once all running invocations complete.
+     *
+     * @param inputs   {@link Iterator} of inputs
+     * @param function {@link CheckedFunction} to be applied
+     * @param resolver {@link ReferenceResolver exception resolver} applied to failure of every single invocation
+     * @param <T>      the type of the input to the function
+     * @param <R>      the type of the result of the function
+     * @return {@link List} of results
+     * @throws InterruptedException if calling thread was interrupted while waiting for invocations to complete
+     */
+    public <T, R> List<R> map(Iterator<? extends T> inputs, CheckedFunction<? super T, ? extends R, ?> function,
+                              ReferenceResolver<? extends R> resolver) throws InterruptedException {
+        if (executor != null) {
+            return map(inputs, function, resolver, executor);
+        }
+        ExecutorService defaultExecutor = VirtualThreads.newExecutor(maxConcurrency);
+        try {
+            return map(inputs, function, resolver, defaultExecutor);
+        } finally {
+            defaultExecutor.shutdown();
+        }
+    }
+
+    private <T, R> List<R> map(Iterator<? extends T> inputs, CheckedFunction<? super T, ? extends R, ?> function,
+                               ReferenceResolver<? extends R> resolver, Executor executor) throws InterruptedException {
+        Function<T, R> mapper = CheckedFunction.<T, R, Exception>wrap(function).handleException(resolver);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<R>> invocations = new ArrayList<>();
+        try {
+            while (!failed.get() && inputs.hasNext()) {
+                permits.acquire();
+                T input;
+                try {
+                    input = inputs.next();
+                } catch (RuntimeException ex) {
+                    permits.release();
+                    throw ex;
+                }
+                CompletableFuture<R> invocation = CheckedFutures.supplyAsync(() -> mapper.apply(input), executor);
+                invocation.whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        failed.set(true);
+                    }
+                    permits.release();
+                });
+                invocations.add(invocation);
+            }
+        } finally {
+            //wait for all running invocations to complete
+            permits.acquireUninterruptibly(maxConcurrency);
+        }
+        List<R> results = new ArrayList<>(invocations.size());
+        for (CompletableFuture<R> invocation : invocations) {
+            if (invocation.isCompletedExceptionally()) {
+                Throwable exception = invocation.handle((result, ex) -> ex).getNow(null);
+                if (exception instanceof Error) {
+                    throw (Error) exception;
+                }
+                throw (RuntimeException) exception;
+            }
+            results.add(invocation.getNow(null));
+        }
+        return results;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Failures;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Utilities for running {@link com.github.pawelkow.function.Checked checked} functional interfaces asynchronously.
+ * <p>
+ * Contrary to {@link CompletableFuture#supplyAsync(java.util.function.Supplier, Executor)} the futures created here are completed exceptionally
+ * with the original exception (no {@link CompletionException} wrapping), so it can be inspected directly in
+ * {@link CompletableFuture#exceptionally(java.util.function.Function) exceptionally} or {@link CompletableFuture#whenComplete(java.util.function.BiConsumer) whenComplete}
+ * stages.
+ */
+public final class CheckedFutures {
+
+    private CheckedFutures() {
+    }
+
+    /**
+     * Run the supplier with provided executor and complete the future with its result.
+     *
+     * @param supplier {@link CheckedSupplier} to be run
+     * @param executor {@link Executor} used to run the supplier
+     * @param <T>      the type of results supplied by the supplier
+     * @return {@link CompletableFuture} completed with the result or exceptionally with the original exception
+     */
+    public static <T> CompletableFuture<T> supplyAsync(CheckedSupplier<? extends T, ?> supplier, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> complete(future, supplier));
+        } catch (RuntimeException rejected) {
+            future.completeExceptionally(rejected);
+        }
+        return future;
+    }
+
+    /**
+     * Run the supplier in calling thread and complete the future with its result.
+     * <p>
+     * NOTE: the supplier is not run at all if the future is already completed (e.g. cancelled).
+     *
+     * @param future   {@link CompletableFuture} to be completed
+     * @param supplier {@link CheckedSupplier} to be run
+     * @param <T>      the type of results supplied by the supplier
+     */
+    public static <T> void complete(CompletableFuture<? super T> future, CheckedSupplier<? extends T, ?> supplier) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            future.complete(supplier.getWithException());
+        } catch (Throwable exception) {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Get a result of the supplier run with provided executor, waiting for it no longer than provided timeout.
+     * <p>
+     * Once the timeout elapses, the supplier is interrupted and {@link TimeoutException} is thrown without waiting for the supplier to react.
+     * Calling thread acts as the timer (it waits with {@link FutureTask#get(long, TimeUnit) timed get}), so no timer task is created per invocation.
+     * <p>
+     * If {@link Deadline} of the current context is set, it's propagated to the supplier and {@link DeadlineExceededException} is thrown instead
+     * (without running the supplier if the deadline has already passed) once it's reached before the timeout.
+     * <p>
+     * NOTE: if calling thread gets interrupted while waiting, the supplier is interrupted as well, the interruption status is restored and
+     * {@link InterruptedException} is thrown.
+     *
+     * @param supplier {@link CheckedSupplier} to be run
+     * @param timeout  the maximum time to wait for the result
+     * @param executor {@link Executor} used to run the supplier
+     * @param <T>      the type of results supplied by the supplier
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return the result
+     * @throws X                    exception thrown by the supplier
+     * @throws TimeoutException     if the result is not available within the timeout
+     * @throws InterruptedException if calling thread has been interrupted while waiting
+     */
+    public static <T, X extends Exception> T getWithTimeout(CheckedSupplier<? extends T, ? extends X> supplier, Duration timeout, Executor executor)
+            throws X, TimeoutException, InterruptedException {
+        long timeoutNanos = timeout.toNanos();
+        long remainingNanos = Deadline.remainingNanos();
+        Deadline.checkNotExpired();
+        FutureTask<T> task = new FutureTask<>(Deadline.propagate(supplier)::getWithException);
+        executor.execute(task);
+        try {
+            return task.get(Math.min(timeoutNanos, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            task.cancel(true);
+            if (remainingNanos < timeoutNanos) {
+                throw new DeadlineExceededException("Deadline exceeded before timeout of " + timeout);
+            }
+            throw new TimeoutException("Timed out after " + timeout);
+        } catch (InterruptedException ex) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (ExecutionException ex) {
+            throw Failures.<X>propagate(ex.getCause());
+        }
+    }
+
+    /**
+     * Get shared executor used when none is provided: it starts a new virtual thread for each task if the runtime supports them
+     * or falls back to an unbounded pool of daemon threads.
+     *
+     * @return shared {@link Executor}
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Get the original exception that completed the future, unwrapping {@link CompletionException} added by dependent stages.
+     *
+     * @param exception exception provided to a stage of {@link CompletableFuture}
+     * @return original exception
+     */
+    public static Throwable unwrap(Throwable exception) {
+        Throwable cause = exception;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static final class DefaultExecutorHolder {
+
+        private static final Executor EXECUTOR = VirtualThreads.newExecutor();
+
+    }
+
+}
@@ -0,0 +1,473 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.resolver.ReferenceResolver;
+import com.github.pawelkow.exception.resolver.VoidResolver;
+import com.github.pawelkow.function.Checked;
+import com.github.pawelkow.function.CheckedSupplier;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Scope for a group of concurrent {@link CheckedSupplier} subtasks whose lifetime is confined to a <em>try-with-resources</em> block, e.g.
+ *
+ * <pre>
+ *  try (CheckedTaskScope.ShutdownOnFailure scope = CheckedTaskScope.shutdownOnFailure()) {
+ *      CheckedTaskScope.Subtask&lt;User&gt; user = scope.fork(() -&gt; findUser(id));
+ *      CheckedTaskScope.Subtask&lt;Order&gt; order = scope.fork(() -&gt; findOrder(id));
+ *      scope.join().throwIfFailed();
+ *      return new Summary(user.get(), order.get());
+ *  }
+ * </pre>
+ * <p>
+ * It mirrors the API of {@code java.util.concurrent.StructuredTaskScope}, which is still a preview feature and cannot be used by this module (targeting Java 8),
+ * on top of plain executors: as soon as the outcome of the scope is decided, the scope is {@link #shutdown() shut down} and all unfinished subtasks are cancelled
+ * by interrupting their threads. Subtasks run on virtual threads when the runtime supports them, unless an explicit {@link Executor} is provided.
+ * <p>
+ * NOTE: the scope is meant to be used by a single owner thread, i.e. the one that forks subtasks, joins and closes the scope.
+ *
+ * @param <T> the result type of subtasks executed in the scope
+ */
+public abstract class CheckedTaskScope<T> implements AutoCloseable {
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final Queue<Subtask<? extends T>> subtasks = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<Void> shutdown = new CompletableFuture<>();
+
+    CheckedTaskScope(Executor executor) {
+        this.ownedExecutor = executor == null ? VirtualThreads.newExecutor() : null;
+        this.executor = executor == null ? ownedExecutor : executor;
+    }
+
+    /**
+     * Create scope that is shut down as soon as any subtask fails.
+     *
+     * @return {@link ShutdownOnFailure} scope
+     */
+    public static ShutdownOnFailure shutdownOnFailure() {
+        return new ShutdownOnFailure(null);
+    }
+
+    /**
+     * Create scope that is shut down as soon as any subtask fails, running subtasks with provided executor.
+     *
+     * @param executor {@link Executor} used to run subtasks
+     * @return {@link ShutdownOnFailure} scope
+     */
+    public static ShutdownOnFailure shutdownOnFailure(Executor executor) {
+        return new ShutdownOnFailure(executor);
+    }
+
+    /**
+     * Create scope that is shut down as soon as any subtask succeeds.
+     *
+     * @param <T> the result type of subtasks executed in the scope
+     * @return {@link ShutdownOnSuccess} scope
+     */
+    public static <T> ShutdownOnSuccess<T> shutdownOnSuccess() {
+        return new ShutdownOnSuccess<>(null);
+    }
+
+    /**
+     * Create scope that is shut down as soon as any subtask succeeds, running subtasks with provided executor.
+     *
+     * @param executor {@link Executor} used to run subtasks
+     * @param <T>      the result type of subtasks executed in the scope
+     * @return {@link ShutdownOnSuccess} scope
+     */
+    public static <T> ShutdownOnSuccess<T> shutdownOnSuccess(Executor executor) {
+        return new ShutdownOnSuccess<>(executor);
+    }
+
+    /**
+     * Start a new subtask in this scope.
+     * <p>
+     * If the scope is already shut down, the subtask is not started at all and remains {@link Subtask.State#UNAVAILABLE unavailable}.
+     *
+     * @param task {@link CheckedSupplier} to be run
+     * @param <U>  the result type of the subtask
+     * @return {@link Subtask} representing the task
+     */
+    public <U extends T> Subtask<U> fork(CheckedSupplier<? extends U, ?> task) {
+        Subtask<U> subtask = new Subtask<>(Deadline.propagate(task), completed -> {
+            if (!isShutdown()) {
+                handleComplete(completed);
+            }
+        });
+        subtasks.add(subtask);
+        if (isShutdown()) {
+            subtask.cancel();
+            subtask.terminated.complete(null);
+            return subtask;
+        }
+        try {
+            executor.execute(subtask::run);
+        } catch (RejectedExecutionException ex) {
+            subtask.result.completeExceptionally(ex);
+            subtask.completionHandler.accept(subtask);
+            subtask.terminated.complete(null);
+        }
+        return subtask;
+    }
+
+    /**
+     * Wait for all subtasks to complete or the scope to be shut down.
+     *
+     * @return this scope
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public CheckedTaskScope<T> join() throws InterruptedException {
+        try {
+            outcome().get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Wait for all subtasks to complete or the scope to be shut down, up to provided timeout. Once the timeout elapses, the scope is shut down.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return this scope
+     * @throws InterruptedException if interrupted while waiting
+     * @throws TimeoutException     if the timeout elapsed before outcome of the scope was decided
+     */
+    public CheckedTaskScope<T> joinUntil(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        if (!awaitOutcome(timeout, unit)) {
+            shutdown();
+            throw new TimeoutException();
+        }
+        return this;
+    }
+
+    /**
+     * Shut down the scope without closing it: no new subtasks are started and unfinished ones are cancelled.
+     */
+    public void shutdown() {
+        if (shutdown.complete(null)) {
+            subtasks.forEach(Subtask::cancel);
+        }
+    }
+
+    /**
+     * Verify if this scope is shut down.
+     *
+     * @return {@code true} if the scope is shut down, otherwise {@code false}
+     */
+    public boolean isShutdown() {
+        return shutdown.isDone();
+    }
+
+    /**
+     * Close the scope: shut it down and wait for threads of all (cancelled) subtasks to finish.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        subtasks.forEach(subtask -> subtask.terminated.join());
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Wait for all subtasks to complete or the scope to be shut down, up to provided timeout, without shutting the scope down once it elapses.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return {@code true} if outcome of the scope was decided, {@code false} if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitOutcome(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            outcome().get(timeout, unit);
+            return true;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        } catch (TimeoutException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Invoked by the thread that completed a subtask, unless the scope is already shut down.
+     *
+     * @param subtask completed {@link Subtask}
+     */
+    abstract void handleComplete(Subtask<? extends T> subtask);
+
+    private CompletableFuture<Object> outcome() {
+        CompletableFuture<?>[] results = subtasks.stream()
+                .map(subtask -> subtask.terminated)
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.anyOf(shutdown, CompletableFuture.allOf(results).handle((ignored, ex) -> null));
+    }
+
+    /**
+     * Subtask forked in a {@link CheckedTaskScope}.
+     *
+     * @param <U> the result type of the subtask
+     */
+    public static final class Subtask<U> {
+
+        private final CompletableFuture<U> result = new CompletableFuture<>();
+        private final CompletableFuture<Void> terminated = new CompletableFuture<>();
+        private final FutureTask<Void> execution;
+        private final Consumer<Subtask<U>> completionHandler;
+
+        private Subtask(CheckedSupplier<? extends U, ?> task, Consumer<Subtask<U>> completionHandler) {
+            this.execution = new FutureTask<>(() -> CheckedFutures.complete(result, task), null);
+            this.completionHandler = completionHandler;
+        }
+
+        /**
+         * State of a {@link Subtask}.
+         */
+        public enum State {
+            /**
+             * The subtask is not completed yet or was cancelled.
+             */
+            UNAVAILABLE,
+            /**
+             * The subtask completed successfully.
+             */
+            SUCCESS,
+            /**
+             * The subtask failed with an exception.
+             */
+            FAILED
+        }
+
+        /**
+         * Get the state of this subtask.
+         *
+         * @return {@link State}
+         */
+        public State state() {
+            if (!result.isDone() || result.isCancelled()) {
+                return State.UNAVAILABLE;
+            }
+            return result.isCompletedExceptionally() ? State.FAILED : State.SUCCESS;
+        }
+
+        /**
+         * Get the result of successfully completed subtask.
+         *
+         * @return the result
+         * @throws IllegalStateException if the subtask didn't complete successfully
+         */
+        public U get() {
+            if (state() != State.SUCCESS) {
+                throw new IllegalStateException("Subtask is in state: " + state());
+            }
+            return result.getNow(null);
+        }
+
+        /**
+         * Get the exception of failed subtask.
+         *
+         * @return the exception
+         * @throws IllegalStateException if the subtask didn't fail
+         */
+        public Throwable exception() {
+            if (state() != State.FAILED) {
+                throw new IllegalStateException("Subtask is in state: " + state());
+            }
+            return result.handle((value, exception) -> exception).getNow(null);
+        }
+
+        /**
+         * Get the result of the subtask, resolving any failure with provided resolver.
+         * <p>
+         * Subtasks that are {@link State#UNAVAILABLE unavailable} are resolved as if they failed with {@link CancellationException}.
+         *
+         * @param resolver {@link ReferenceResolver exception resolver} capable of providing object references as fallback values
+         * @return the result or fallback value
+         */
+        public U get(ReferenceResolver<? extends U> resolver) {
+            switch (state()) {
+                case SUCCESS:
+                    return get();
+                case FAILED:
+                    return resolver.resolve(exception());
+                default:
+                    return resolver.resolve(new CancellationException("Subtask is not available"));
+            }
+        }
+
+        private void run() {
+            try {
+                execution.run();
+                if (result.isDone()) {
+                    completionHandler.accept(this);
+                }
+            } finally {
+                terminated.complete(null);
+            }
+        }
+
+        private void cancel() {
+            result.cancel(false);
+            execution.cancel(true);
+        }
+
+    }
+
+    /**
+     * {@link CheckedTaskScope} that captures the exception of the first subtask to fail and shuts down.
+     */
+    public static final class ShutdownOnFailure extends CheckedTaskScope<Object> {
+
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private ShutdownOnFailure(Executor executor) {
+            super(executor);
+        }
+
+        @Override
+        void handleComplete(Subtask<?> subtask) {
+            if (subtask.state() == Subtask.State.FAILED && failure.compareAndSet(null, subtask.exception())) {
+                shutdown();
+            }
+        }
+
+        @Override
+        public ShutdownOnFailure join() throws InterruptedException {
+            super.join();
+            return this;
+        }
+
+        @Override
+        public ShutdownOnFailure joinUntil(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            super.joinUntil(timeout, unit);
+            return this;
+        }
+
+        /**
+         * Get the exception of the first subtask that failed.
+         *
+         * @return {@link Throwable} or {@code null} if no subtask failed
+         */
+        public Throwable exception() {
+            return failure.get();
+        }
+
+        /**
+         * Rethrow the exception of the first subtask that failed based on {@link Checked#RETHROW_UNCHECKED default strategy}.
+         */
+        public void throwIfFailed() {
+            Throwable exception = failure.get();
+            if (exception instanceof Error) {
+                throw (Error) exception;
+            }
+            if (exception != null) {
+                Checked.RETHROW_UNCHECKED.accept((Exception) exception);
+            }
+        }
+
+        /**
+         * Resolve the exception of the first subtask that failed (if any) with provided resolver.
+         *
+         * @param resolver {@link VoidResolver exception resolver} consuming the exception
+         */
+        public void throwIfFailed(VoidResolver resolver) {
+            Throwable exception = failure.get();
+            if (exception != null) {
+                resolver.resolve(exception);
+            }
+        }
+
+    }
+
+    /**
+     * {@link CheckedTaskScope} that captures the result of the first subtask to complete successfully and shuts down.
+     *
+     * @param <T> the result type
+     */
+    public static final class ShutdownOnSuccess<T> extends CheckedTaskScope<T> {
+
+        private final AtomicReference<Subtask<? extends T>> success = new AtomicReference<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private ShutdownOnSuccess(Executor executor) {
+            super(executor);
+        }
+
+        @Override
+        void handleComplete(Subtask<? extends T> subtask) {
+            if (subtask.state() == Subtask.State.SUCCESS) {
+                if (success.compareAndSet(null, subtask)) {
+                    shutdown();
+                }
+            } else if (subtask.state() == Subtask.State.FAILED) {
+                failure.compareAndSet(null, subtask.exception());
+            }
+        }
+
+        @Override
+        public ShutdownOnSuccess<T> join() throws InterruptedException {
+            super.join();
+            return this;
+        }
+
+        @Override
+        public ShutdownOnSuccess<T> joinUntil(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            super.joinUntil(timeout, unit);
+            return this;
+        }
+
+        /**
+         * Get the result of the first subtask that completed successfully.
+         * <p>
+         * If no subtask succeeded, the exception of the first one that failed will be rethrown based on {@link Checked#RETHROW_UNCHECKED default strategy}.
+         *
+         * @return the result
+         * @throws IllegalStateException if no subtask completed
+         */
+        public T result() {
+            return result(null);
+        }
+
+        /**
+         * Get the result of the first subtask that completed successfully, resolving the exception of the first one that failed otherwise.
+         *
+         * @param resolver {@link ReferenceResolver exception resolver} capable of providing object references as fallback values
+         * @return the result or fallback value
+         * @throws IllegalStateException if no subtask completed
+         */
+        public T result(ReferenceResolver<? extends T> resolver) {
+            Subtask<? extends T> subtask = success.get();
+            if (subtask != null) {
+                return subtask.get();
+            }
+            Throwable exception = failure.get();
+            if (exception == null) {
+                throw new IllegalStateException("No subtask completed");
+            }
+            if (resolver != null) {
+                return resolver.resolve(exception);
+            }
+            if (exception instanceof Error) {
+                throw (Error) exception;
+            }
+            Checked.RETHROW_UNCHECKED.accept((Exception) exception);
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Interceptor;
+
+import java.time.Duration;
+
+/**
+ * Deadline of the current request, propagated to nested invocations performed by the same thread, e.g.
+ *
+ * <pre>
+ *  Response response = Deadline.within(Duration.ofMillis(500), () -&gt; {
+ *      User user = wrap(this::loadUser).interceptWith(Deadline.enforce()).apply(id);
+ *      return wrap(this::render).interceptWith(Deadline.enforce()).handleException(new ReferenceHandler&lt;Response&gt;()
+ *              .inCaseOf(DeadlineExceededException.class).supplyValue(Response::timeout)
+ *              .inCaseOf(IOException.class).rethrow(UncheckedIOException::new))
+ *              .apply(user);
+ *  });
+ * </pre>
+ * <p>
+ * Invocations intercepted with {@link #enforce()} are not performed at all once the deadline has passed; {@link DeadlineExceededException} is thrown
+ * instead, so it may be resolved by regular exception handling strategy. Nested deadlines never extend the outer one, i.e. nested invocations see
+ * the remaining budget. The deadline is also respected by other decorators: {@link com.github.pawelkow.resilience.Retry Retry} doesn't wait beyond it,
+ * {@link CheckedFutures#getWithTimeout(CheckedSupplier, Duration, java.util.concurrent.Executor) timeouts} are shortened to it and it's propagated to
+ * subtasks of {@link CheckedTaskScope}.
+ * <p>
+ * The deadline is bound with {@link ThreadLocal}; querying it only reads the state of the current thread, so no shared memory is written on the call path.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    private static final Interceptor ENFORCE = new Interceptor() {
+        @Override
+        public <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+            checkNotExpired();
+            return invocation.getWithException();
+        }
+    };
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Get a result of the supplier with deadline set to provided budget from now (or the current deadline, if it's earlier).
+     *
+     * @param budget   time available for the supplier
+     * @param supplier {@link CheckedSupplier} to be invoked
+     * @param <T>      the type of results supplied by the supplier
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return the result
+     * @throws X exception thrown by the supplier
+     */
+    public static <T, X extends Exception> T within(Duration budget, CheckedSupplier<? extends T, ? extends X> supplier) throws X {
+        long deadlineNanos = System.nanoTime() + budget.toNanos();
+        Deadline current = current();
+        if (current != null && current.deadlineNanos - deadlineNanos <= 0) {
+            return supplier.getWithException();
+        }
+        return bind(new Deadline(deadlineNanos), supplier);
+    }
+
+    /**
+     * Get version of provided supplier that is invoked with the deadline of the current context, e.g. to be run by another thread.
+     *
+     * @param supplier {@link CheckedSupplier} to be invoked
+     * @param <T>      the type of results supplied by the supplier
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return supplier bound to the current deadline (or provided one, if no deadline is set)
+     */
+    public static <T, X extends Exception> CheckedSupplier<T, X> propagate(CheckedSupplier<? extends T, ? extends X> supplier) {
+        Deadline current = current();
+        if (current == null) {
+            return CheckedSupplier.wrap(supplier);
+        }
+        return () -> bind(current, supplier);
+    }
+
+    /**
+     * Verify if a deadline is set in the current context.
+     *
+     * @return {@code true} if the deadline is set, otherwise {@code false}
+     */
+    public static boolean isSet() {
+        return current() != null;
+    }
+
+    /**
+     * Get time remaining until the deadline of the current context.
+     *
+     * @return remaining nanoseconds (zero or negative once the deadline has passed) or {@link Long#MAX_VALUE} if no deadline is set
+     */
+    public static long remainingNanos() {
+        Deadline current = current();
+        return current == null ? Long.MAX_VALUE : current.deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Verify if the deadline of the current context has passed.
+     *
+     * @return {@code true} if the deadline is set and has passed, otherwise {@code false}
+     */
+    public static boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Verify that the deadline of the current context has not passed.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public static void checkNotExpired() {
+        long remaining = remainingNanos();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("Deadline exceeded by " + Duration.ofNanos(-remaining));
+        }
+    }
+
+    /**
+     * Get {@link Interceptor} that performs invocations only if the deadline of the current context has not passed yet.
+     *
+     * @return {@link Interceptor} throwing {@link DeadlineExceededException} instead of invoking expired invocations
+     */
+    public static Interceptor enforce() {
+        return ENFORCE;
+    }
+
+    private static Deadline current() {
+        return CURRENT.get();
+    }
+
+    private static <T, X extends Exception> T bind(Deadline deadline, CheckedSupplier<? extends T, ? extends X> supplier) throws X {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return supplier.getWithException();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.github.pawelkow.concurrent;
+
+/**
+ * Thrown instead of performing an invocation once the {@link Deadline} of the current context has passed.
+ * <p>
+ * Since it's thrown instead of the invocation, it may be resolved as any other exception, e.g.
+ * {@code .inCaseOf(DeadlineExceededException.class).returnValue(fallback)}.
+ * <p>
+ * NOTE: to keep rejections cheap, stack trace is not filled in.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Used to construct new exception.
+     *
+     * @param message the detail message
+     */
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+
+}
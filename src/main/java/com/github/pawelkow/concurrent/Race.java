@@ -0,0 +1,122 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.function.CheckedSupplier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CheckedSupplier} racing equivalent alternatives (e.g. replicas, cache tiers or mirrored files) and supplying the first successful result, e.g.
+ *
+ * <pre>
+ *  String content = Race.of(() -&gt; read(primary), () -&gt; read(mirror))
+ *          .staggered(Duration.ofMillis(50))
+ *          .handleException(new ReferenceHandler&lt;String&gt;()
+ *                  .inCaseOf(AllFailedException.class).returnValue("unavailable"))
+ *          .get();
+ * </pre>
+ * <p>
+ * Alternatives are started all at once or (if staggered) one by one, the next one being started once the delay elapses or as soon as all already started
+ * ones failed. The first successful result wins and the remaining alternatives are cancelled (with interruption, without waiting for them to finish).
+ * Only if every alternative fails, {@link AllFailedException} aggregating all the failures is thrown, so it may be resolved by regular exception handling strategy.
+ * <p>
+ * NOTE: if calling thread gets interrupted while waiting, all alternatives are cancelled, the interruption status is restored
+ * and {@link CancellationException} is thrown.
+ *
+ * @param <T> the type of results supplied by the alternatives
+ */
+public final class Race<T> implements CheckedSupplier<T, AllFailedException> {
+
+    private final List<CheckedSupplier<? extends T, ?>> alternatives;
+    private final long staggerNanos;
+    private final Executor executor;
+
+    private Race(List<CheckedSupplier<? extends T, ?>> alternatives, long staggerNanos, Executor executor) {
+        if (alternatives.isEmpty()) {
+            throw new IllegalArgumentException("At least one alternative is required");
+        }
+        this.alternatives = alternatives;
+        this.staggerNanos = staggerNanos;
+        this.executor = executor;
+    }
+
+    /**
+     * Create race of provided alternatives, started all at once with {@link CheckedFutures#defaultExecutor() shared executor}.
+     *
+     * @param alternatives collection of equivalent {@link CheckedSupplier suppliers}
+     * @param <T>          the type of results supplied by the alternatives
+     * @return {@link Race}
+     */
+    public static <T> Race<T> of(List<? extends CheckedSupplier<? extends T, ?>> alternatives) {
+        return new Race<>(Collections.unmodifiableList(new ArrayList<>(alternatives)), 0, CheckedFutures.defaultExecutor());
+    }
+
+    /**
+     * Create race of provided alternatives, started all at once with {@link CheckedFutures#defaultExecutor() shared executor}.
+     *
+     * @param alternatives equivalent {@link CheckedSupplier suppliers}
+     * @param <T>          the type of results supplied by the alternatives
+     * @return {@link Race}
+     */
+    @SafeVarargs
+    public static <T> Race<T> of(CheckedSupplier<? extends T, ?>... alternatives) {
+        return of(Arrays.asList(alternatives));
+    }
+
+    /**
+     * Get race that starts alternatives one by one, separated by provided delay.
+     *
+     * @param delay time after which the next alternative is started
+     * @return {@link Race}
+     */
+    public Race<T> staggered(Duration delay) {
+        return new Race<>(alternatives, delay.toNanos(), executor);
+    }
+
+    /**
+     * Get race that runs alternatives with provided executor.
+     *
+     * @param executor {@link Executor} used to run alternatives
+     * @return {@link Race}
+     */
+    public Race<T> using(Executor executor) {
+        return new Race<>(alternatives, staggerNanos, executor);
+    }
+
+    @Override
+    public T getWithException() throws AllFailedException {
+        CheckedTaskScope.ShutdownOnSuccess<T> scope = CheckedTaskScope.shutdownOnSuccess(executor);
+        List<CheckedTaskScope.Subtask<? extends T>> started = new ArrayList<>(alternatives.size());
+        try {
+            for (int i = 0; i < alternatives.size() && !scope.isShutdown(); i++) {
+                started.add(scope.fork(alternatives.get(i)));
+                if (staggerNanos > 0 && i < alternatives.size() - 1) {
+                    scope.awaitOutcome(staggerNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            scope.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for race");
+        } finally {
+            scope.shutdown();
+        }
+        for (CheckedTaskScope.Subtask<? extends T> subtask : started) {
+            if (subtask.state() == CheckedTaskScope.Subtask.State.SUCCESS) {
+                return scope.result();
+            }
+        }
+        List<Throwable> failures = new ArrayList<>(started.size());
+        for (CheckedTaskScope.Subtask<? extends T> subtask : started) {
+            failures.add(subtask.exception());
+        }
+        throw new AllFailedException(failures);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Failures;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalescing of concurrent invocations for the same key, so that only one of them (the leader) is actually performed while the others wait for
+ * its outcome, e.g.
+ *
+ * <pre>
+ *  SingleFlight&lt;String&gt; flight = new SingleFlight&lt;&gt;();
+ *
+ *  requests.parallelStream().map(flight.decorate(wrap(this::loadProfile)).handleException(new ReferenceHandler&lt;Profile&gt;()
+ *          .inCaseOf(IOException.class).returnValue(Profile.ANONYMOUS)));
+ * </pre>
+ * <p>
+ * All callers of the same flight get the very same result or fail with the very same exception instance (so it's resolved by the exception handling
+ * strategy of each caller as usual). The flight is forgotten as soon as it completes, whatever the outcome, so the next invocation for the key is
+ * performed again - combine it with memoization to keep the results.
+ * <p>
+ * NOTE: waiting callers are not interruptible (the interruption status is preserved though); nested invocation for the key of the flight led by the same
+ * thread is performed directly instead of waiting for itself.
+ *
+ * @param <T> the type of keys
+ */
+public final class SingleFlight<T> {
+
+    private static final Object NULL = new Object();
+
+    private final ConcurrentMap<Object, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Perform provided call unless another one for the same key is in flight, in which case wait for its outcome instead.
+     *
+     * @param key  the key of the call
+     * @param call {@link CheckedSupplier} to be performed
+     * @param <R>  the type of the result
+     * @param <X>  {@link Exception exception} type that is supported
+     * @return the result of the call in flight
+     * @throws X exception thrown by the call in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <R, X extends Exception> R execute(T key, CheckedSupplier<? extends R, ? extends X> call) throws X {
+        Object mask = key == null ? NULL : key;
+        Flight flight = new Flight();
+        Flight leader = flights.putIfAbsent(mask, flight);
+        if (leader == null) {
+            return lead(mask, flight, call);
+        }
+        if (leader.thread == Thread.currentThread()) {
+            return call.getWithException();
+        }
+        Object result = leader.join();
+        if (leader.failure != null) {
+            throw Failures.<X>propagate(leader.failure);
+        }
+        return (R) result;
+    }
+
+    /**
+     * Get function coalescing concurrent invocations for equal inputs.
+     *
+     * @param function {@link CheckedFunction} to be decorated
+     * @param <R>      the type of the result of the function
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return decorated {@link CheckedFunction}
+     */
+    public <R, X extends Exception> CheckedFunction<T, R, X> decorate(CheckedFunction<? super T, ? extends R, ? extends X> function) {
+        return t -> execute(t, () -> function.applyWithException(t));
+    }
+
+    /**
+     * Get the number of calls currently in flight.
+     *
+     * @return the number of keys with call in flight
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private <R, X extends Exception> R lead(Object key, Flight flight, CheckedSupplier<? extends R, ? extends X> call) throws X {
+        try {
+            R result = call.getWithException();
+            flights.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable failure) {
+            flights.remove(key, flight);
+            flight.failure = failure;
+            flight.complete(null);
+            throw failure;
+        }
+    }
+
+    /**
+     * Outcome of the call performed by the leading thread.
+     */
+    private static final class Flight extends CompletableFuture<Object> {
+
+        private final Thread thread = Thread.currentThread();
+        private Throwable failure;
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.pawelkow.concurrent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Access point for virtual threads (available since Java 21), resolved reflectively since this module targets Java 8.
+ */
+final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = lookupVirtualThreadExecutor();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Verify if virtual threads are supported by current runtime.
+     *
+     * @return {@code true} if virtual threads are available, otherwise {@code false}
+     */
+    static boolean isAvailable() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Create executor that starts a new virtual thread for each task or falls back to a pool of at most {@code maxPlatformThreads} daemon threads.
+     *
+     * @param maxPlatformThreads size of the fallback pool used if virtual threads are not available
+     * @return {@link ExecutorService} that should be shut down by the caller
+     */
+    static ExecutorService newExecutor(int maxPlatformThreads) {
+        if (isAvailable()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw new IllegalStateException("Unable to create virtual thread executor", ex);
+            }
+        }
+        return Executors.newFixedThreadPool(maxPlatformThreads, daemonThreadFactory("checked-worker-"));
+    }
+
+    /**
+     * Create executor that starts a new virtual thread for each task or falls back to an unbounded pool of daemon threads.
+     *
+     * @return {@link ExecutorService} that should be shut down by the caller
+     */
+    static ExecutorService newExecutor() {
+        if (isAvailable()) {
+            return newExecutor(1);
+        }
+        return Executors.newCachedThreadPool(daemonThreadFactory("checked-worker-"));
+    }
+
+    /**
+     * Create factory of daemon platform threads.
+     *
+     * @param prefix prefix of thread names
+     * @return {@link ThreadFactory}
+     */
+    static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method lookupVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            //verify that virtual threads are not a disabled preview feature
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+}
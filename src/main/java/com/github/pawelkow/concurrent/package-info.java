@@ -0,0 +1,4 @@
+/**
+ * Utilities for running checked functional interfaces concurrently.
+ */
+package com.github.pawelkow.concurrent;
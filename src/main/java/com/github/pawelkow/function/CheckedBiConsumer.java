@@ -66,4 +66,17 @@ public interface CheckedBiConsumer<T, U, X extends Exception> extends BiConsumer
         };
     }
 
+    /**
+     * Get version of this operation that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operation
+     */
+    default CheckedBiConsumer<T, U, X> interceptWith(Interceptor interceptor) {
+        return (t, u) -> interceptor.<Void, X>intercept(() -> {
+            acceptWithException(t, u);
+            return null;
+        });
+    }
+
 }
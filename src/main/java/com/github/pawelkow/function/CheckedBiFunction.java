@@ -1,7 +1,14 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.BoundedCache;
+import com.github.pawelkow.cache.CacheSpec;
+import com.github.pawelkow.concurrent.CheckedFutures;
 import com.github.pawelkow.exception.resolver.ReferenceResolver;
 
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 
 /**
@@ -72,4 +79,56 @@ public interface CheckedBiFunction<T, U, R, X extends Exception> extends BiFunct
         };
     }
 
+    /**
+     * Get asynchronous version of this function that applies it using provided executor.
+     * <p>
+     * Any exception that could be thrown will complete returned future exceptionally as is (without {@link java.util.concurrent.CompletionException} wrapping).
+     *
+     * @param executor {@link Executor} used to apply the function
+     * @return {@link BiFunction} providing {@link CompletableFuture} of the result
+     */
+    default BiFunction<T, U, CompletableFuture<R>> async(Executor executor) {
+        return (t, u) -> CheckedFutures.supplyAsync(() -> applyWithException(t, u), executor);
+    }
+
+    /**
+     * Get asynchronous version of this function that applies it using provided executor, resolving any exception within the same stage.
+     *
+     * @param executor {@link Executor} used to apply the function
+     * @param resolver {@link ReferenceResolver exception resolver} capable of providing object references as fallback values
+     * @return {@link BiFunction} providing {@link CompletableFuture} of the result (completed exceptionally only if the resolver rethrows the exception)
+     */
+    default BiFunction<T, U, CompletableFuture<R>> async(Executor executor, ReferenceResolver<? extends R> resolver) {
+        BiFunction<T, U, R> function = handleException(resolver);
+        return (t, u) -> CheckedFutures.supplyAsync(() -> function.apply(t, u), executor);
+    }
+
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedBiFunction<T, U, R, X> interceptWith(Interceptor interceptor) {
+        return (t, u) -> interceptor.<R, X>intercept(() -> applyWithException(t, u));
+    }
+
+    /**
+     * Get version of this function that caches its results in a {@link BoundedCache} built according to provided specification, e.g.
+     *
+     * <pre>
+     *  wrap(this::parseConfig).memoize(CacheSpec.maximumSize(1_000).expireAfterWrite(Duration.ofMinutes(5)))
+     * </pre>
+     * <p>
+     * Results are cached per pair of inputs only if the function completes successfully; failures are thrown as is (so they may still be resolved by any exception
+     * handling strategy) and the next invocation for the same pair of inputs invokes this function again.
+     *
+     * @param spec {@link CacheSpec} of the cache
+     * @return memoizing {@link Checked checked} function
+     */
+    default CheckedBiFunction<T, U, R, X> memoize(CacheSpec spec) {
+        BoundedCache<Map.Entry<T, U>, R> cache = spec.build();
+        return (t, u) -> cache.get(new AbstractMap.SimpleImmutableEntry<>(t, u), key -> applyWithException(t, u));
+    }
+
 }
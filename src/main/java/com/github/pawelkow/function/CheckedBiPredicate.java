@@ -70,4 +70,14 @@ public interface CheckedBiPredicate<T, U, X extends Exception> extends BiPredica
         };
     }
 
+    /**
+     * Get version of this predicate that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted predicate
+     */
+    default CheckedBiPredicate<T, U, X> interceptWith(Interceptor interceptor) {
+        return (t, u) -> interceptor.<Boolean, X>intercept(() -> testWithException(t, u));
+    }
+
 }
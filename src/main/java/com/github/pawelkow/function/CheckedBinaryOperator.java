@@ -35,4 +35,15 @@ public interface CheckedBinaryOperator<T, X extends Exception> extends BinaryOpe
         return (CheckedBinaryOperator<T, X>) binaryOperator;
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    @Override
+    default CheckedBinaryOperator<T, X> interceptWith(Interceptor interceptor) {
+        return (t, u) -> interceptor.<T, X>intercept(() -> applyWithException(t, u));
+    }
+
 }
@@ -1,7 +1,10 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.concurrent.CheckedFutures;
 import com.github.pawelkow.exception.resolver.BooleanResolver;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BooleanSupplier;
 
 /**
@@ -67,4 +70,37 @@ public interface CheckedBooleanSupplier<X extends Exception> extends BooleanSupp
         };
     }
 
+    /**
+     * Gets a result asynchronously using provided executor.
+     * <p>
+     * Any exception that could be thrown will complete returned future exceptionally as is (without {@link java.util.concurrent.CompletionException} wrapping).
+     *
+     * @param executor {@link Executor} used to get the result
+     * @return {@link CompletableFuture} of the result
+     */
+    default CompletableFuture<Boolean> async(Executor executor) {
+        return CheckedFutures.supplyAsync(this::getAsBooleanWithException, executor);
+    }
+
+    /**
+     * Gets a result asynchronously using provided executor, resolving any exception within the same stage.
+     *
+     * @param executor {@link Executor} used to get the result
+     * @param resolver {@link BooleanResolver exception resolver} capable of providing boolean primitives as fallback values
+     * @return {@link CompletableFuture} of the result (completed exceptionally only if the resolver rethrows the exception)
+     */
+    default CompletableFuture<Boolean> async(Executor executor, BooleanResolver resolver) {
+        return CheckedFutures.supplyAsync(handleException(resolver)::getAsBoolean, executor);
+    }
+
+    /**
+     * Get version of this supplier that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted supplier
+     */
+    default CheckedBooleanSupplier<X> interceptWith(Interceptor interceptor) {
+        return () -> interceptor.<Boolean, X>intercept(this::getAsBooleanWithException);
+    }
+
 }
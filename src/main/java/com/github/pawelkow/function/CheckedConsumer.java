@@ -63,4 +63,17 @@ public interface CheckedConsumer<T, X extends Exception> extends Consumer<T>, Ch
         };
     }
 
+    /**
+     * Get version of this operation that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operation
+     */
+    default CheckedConsumer<T, X> interceptWith(Interceptor interceptor) {
+        return t -> interceptor.<Void, X>intercept(() -> {
+            acceptWithException(t);
+            return null;
+        });
+    }
+
 }
@@ -63,4 +63,14 @@ public interface CheckedDoubleBinaryOperator<X extends Exception> extends Double
         };
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    default CheckedDoubleBinaryOperator<X> interceptWith(Interceptor interceptor) {
+        return (left, right) -> interceptor.<Double, X>intercept(() -> applyAsDoubleWithException(left, right));
+    }
+
 }
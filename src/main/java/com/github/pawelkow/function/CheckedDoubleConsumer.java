@@ -61,4 +61,17 @@ public interface CheckedDoubleConsumer<X extends Exception> extends DoubleConsum
         };
     }
 
+    /**
+     * Get version of this operation that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operation
+     */
+    default CheckedDoubleConsumer<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Void, X>intercept(() -> {
+            acceptWithException(value);
+            return null;
+        });
+    }
+
 }
@@ -67,4 +67,14 @@ public interface CheckedDoubleFunction<R, X extends Exception> extends DoubleFun
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedDoubleFunction<R, X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<R, X>intercept(() -> applyWithException(value));
+    }
+
 }
@@ -1,7 +1,10 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.concurrent.CheckedFutures;
 import com.github.pawelkow.exception.resolver.DoubleResolver;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.DoubleSupplier;
 
 /**
@@ -61,4 +64,37 @@ public interface CheckedDoubleSupplier<X extends Exception> extends DoubleSuppli
         };
     }
 
+    /**
+     * Gets a result asynchronously using provided executor.
+     * <p>
+     * Any exception that could be thrown will complete returned future exceptionally as is (without {@link java.util.concurrent.CompletionException} wrapping).
+     *
+     * @param executor {@link Executor} used to get the result
+     * @return {@link CompletableFuture} of the result
+     */
+    default CompletableFuture<Double> async(Executor executor) {
+        return CheckedFutures.supplyAsync(this::getAsDoubleWithException, executor);
+    }
+
+    /**
+     * Gets a result asynchronously using provided executor, resolving any exception within the same stage.
+     *
+     * @param executor {@link Executor} used to get the result
+     * @param resolver {@link DoubleResolver exception resolver} capable of providing double primitives as fallback values
+     * @return {@link CompletableFuture} of the result (completed exceptionally only if the resolver rethrows the exception)
+     */
+    default CompletableFuture<Double> async(Executor executor, DoubleResolver resolver) {
+        return CheckedFutures.supplyAsync(handleException(resolver)::getAsDouble, executor);
+    }
+
+    /**
+     * Get version of this supplier that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted supplier
+     */
+    default CheckedDoubleSupplier<X> interceptWith(Interceptor interceptor) {
+        return () -> interceptor.<Double, X>intercept(this::getAsDoubleWithException);
+    }
+
 }
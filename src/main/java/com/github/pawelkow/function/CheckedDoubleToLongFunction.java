@@ -62,4 +62,14 @@ public interface CheckedDoubleToLongFunction<X extends Exception> extends Double
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedDoubleToLongFunction<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Long, X>intercept(() -> applyAsLongWithException(value));
+    }
+
 }
@@ -62,4 +62,14 @@ public interface CheckedDoubleUnaryOperator<X extends Exception> extends DoubleU
         };
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    default CheckedDoubleUnaryOperator<X> interceptWith(Interceptor interceptor) {
+        return operand -> interceptor.<Double, X>intercept(() -> applyAsDoubleWithException(operand));
+    }
+
 }
@@ -1,7 +1,13 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.BoundedCache;
+import com.github.pawelkow.cache.CacheSpec;
+import com.github.pawelkow.concurrent.CheckedFutures;
 import com.github.pawelkow.exception.resolver.ReferenceResolver;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -66,4 +72,86 @@ public interface CheckedFunction<T, R, X extends Exception> extends Function<T,
         };
     }
 
+    /**
+     * Get asynchronous version of this function that applies it using provided executor.
+     * <p>
+     * Any exception that could be thrown will complete returned future exceptionally as is (without {@link java.util.concurrent.CompletionException} wrapping).
+     *
+     * @param executor {@link Executor} used to apply the function
+     * @return {@link Function} providing {@link CompletableFuture} of the result
+     */
+    default Function<T, CompletableFuture<R>> async(Executor executor) {
+        return t -> CheckedFutures.supplyAsync(() -> applyWithException(t), executor);
+    }
+
+    /**
+     * Get asynchronous version of this function that applies it using provided executor, resolving any exception within the same stage.
+     *
+     * @param executor {@link Executor} used to apply the function
+     * @param resolver {@link ReferenceResolver exception resolver} capable of providing object references as fallback values
+     * @return {@link Function} providing {@link CompletableFuture} of the result (completed exceptionally only if the resolver rethrows the exception)
+     */
+    default Function<T, CompletableFuture<R>> async(Executor executor, ReferenceResolver<? extends R> resolver) {
+        Function<T, R> function = handleException(resolver);
+        return t -> CheckedFutures.supplyAsync(() -> function.apply(t), executor);
+    }
+
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedFunction<T, R, X> interceptWith(Interceptor interceptor) {
+        return t -> interceptor.<R, X>intercept(() -> applyWithException(t));
+    }
+
+    /**
+     * Get version of this function that is run with shared {@link CheckedFutures#defaultExecutor() executor} (using virtual threads where available)
+     * and interrupted once provided timeout elapses, e.g.
+     *
+     * <pre>
+     *  wrap(this::read).withTimeout(Duration.ofSeconds(1)).handleException(new ReferenceHandler&lt;String&gt;()
+     *          .inCaseOf(TimeoutException.class).returnValue("timed out")
+     *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new));
+     * </pre>
+     *
+     * @param timeout the maximum time to wait for each invocation
+     * @return {@link Checked checked} function throwing {@link java.util.concurrent.TimeoutException} once the timeout elapses
+     * @see CheckedFutures#getWithTimeout(CheckedSupplier, Duration, Executor)
+     */
+    default CheckedFunction<T, R, Exception> withTimeout(Duration timeout) {
+        return withTimeout(timeout, CheckedFutures.defaultExecutor());
+    }
+
+    /**
+     * Get version of this function that is run with provided executor and interrupted once provided timeout elapses.
+     *
+     * @param timeout  the maximum time to wait for each invocation
+     * @param executor {@link Executor} used to run the function
+     * @return {@link Checked checked} function throwing {@link java.util.concurrent.TimeoutException} once the timeout elapses
+     * @see CheckedFutures#getWithTimeout(CheckedSupplier, Duration, Executor)
+     */
+    default CheckedFunction<T, R, Exception> withTimeout(Duration timeout, Executor executor) {
+        return t -> CheckedFutures.getWithTimeout(() -> applyWithException(t), timeout, executor);
+    }
+
+    /**
+     * Get version of this function that caches its results in a {@link BoundedCache} built according to provided specification, e.g.
+     *
+     * <pre>
+     *  wrap(this::parseConfig).memoize(CacheSpec.maximumSize(1_000).expireAfterWrite(Duration.ofMinutes(5)))
+     * </pre>
+     * <p>
+     * Results are cached per input only if the function completes successfully; failures are thrown as is (so they may still be resolved by any exception
+     * handling strategy) and the next invocation for the same input invokes this function again.
+     *
+     * @param spec {@link CacheSpec} of the cache
+     * @return memoizing {@link Checked checked} function
+     */
+    default CheckedFunction<T, R, X> memoize(CacheSpec spec) {
+        BoundedCache<T, R> cache = spec.build();
+        return t -> cache.get(t, this);
+    }
+
 }
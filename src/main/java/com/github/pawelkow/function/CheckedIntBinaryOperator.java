@@ -63,4 +63,14 @@ public interface CheckedIntBinaryOperator<X extends Exception> extends IntBinary
         };
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    default CheckedIntBinaryOperator<X> interceptWith(Interceptor interceptor) {
+        return (left, right) -> interceptor.<Integer, X>intercept(() -> applyAsIntWithException(left, right));
+    }
+
 }
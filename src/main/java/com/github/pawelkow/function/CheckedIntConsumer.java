@@ -61,4 +61,17 @@ public interface CheckedIntConsumer<X extends Exception> extends IntConsumer, Ch
         };
     }
 
+    /**
+     * Get version of this operation that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operation
+     */
+    default CheckedIntConsumer<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Void, X>intercept(() -> {
+            acceptWithException(value);
+            return null;
+        });
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.PrimitiveCache;
 import com.github.pawelkow.exception.resolver.ReferenceResolver;
 
 import java.util.function.IntFunction;
@@ -67,4 +68,51 @@ public interface CheckedIntFunction<R, X extends Exception> extends IntFunction<
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedIntFunction<R, X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<R, X>intercept(() -> applyWithException(value));
+    }
+
+    /**
+     * Get version of this function that caches its results in a {@link PrimitiveCache} holding at most provided number of entries (without boxing
+     * the inputs).
+     * <p>
+     * Results are cached per input only if the function completes successfully; failures are thrown as is (so they may still be resolved by any exception
+     * handling strategy) and the next invocation for the same input invokes this function again.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return memoizing {@link Checked checked} function
+     * @see PrimitiveCache#maximumSize(int)
+     */
+    default CheckedIntFunction<R, X> memoize(int maximumSize) {
+        PrimitiveCache cache = PrimitiveCache.maximumSize(maximumSize);
+        CheckedLongFunction<R, X> loader = key -> applyWithException((int) key);
+        return value -> cache.get(value, loader);
+    }
+
+    /**
+     * Get version of this function that caches its results for inputs of provided range in a dense {@link PrimitiveCache}, e.g.
+     *
+     * <pre>
+     *  dayOfYearStream.mapToObj(wrap(this::loadHolidays).memoize(1, 366))
+     * </pre>
+     * <p>
+     * Inputs out of the range are not cached at all.
+     *
+     * @param minValue the minimum cached input (inclusive)
+     * @param maxValue the maximum cached input (inclusive)
+     * @return memoizing {@link Checked checked} function
+     * @see PrimitiveCache#range(long, long)
+     */
+    default CheckedIntFunction<R, X> memoize(int minValue, int maxValue) {
+        PrimitiveCache cache = PrimitiveCache.range(minValue, maxValue);
+        CheckedLongFunction<R, X> loader = key -> applyWithException((int) key);
+        return value -> cache.get(value, loader);
+    }
+
 }
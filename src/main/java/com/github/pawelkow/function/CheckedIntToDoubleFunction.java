@@ -62,4 +62,14 @@ public interface CheckedIntToDoubleFunction<X extends Exception> extends IntToDo
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedIntToDoubleFunction<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Double, X>intercept(() -> applyAsDoubleWithException(value));
+    }
+
 }
@@ -63,4 +63,14 @@ public interface CheckedIntToLongFunction<X extends Exception> extends IntToLong
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedIntToLongFunction<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Long, X>intercept(() -> applyAsLongWithException(value));
+    }
+
 }
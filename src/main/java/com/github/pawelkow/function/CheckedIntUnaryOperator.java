@@ -1,5 +1,6 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.PrimitiveCache;
 import com.github.pawelkow.exception.resolver.IntResolver;
 
 import java.util.function.IntUnaryOperator;
@@ -62,4 +63,51 @@ public interface CheckedIntUnaryOperator<X extends Exception> extends IntUnaryOp
         };
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    default CheckedIntUnaryOperator<X> interceptWith(Interceptor interceptor) {
+        return operand -> interceptor.<Integer, X>intercept(() -> applyAsIntWithException(operand));
+    }
+
+    /**
+     * Get version of this function that caches its results in a {@link PrimitiveCache} holding at most provided number of entries (without boxing
+     * the inputs).
+     * <p>
+     * Results are cached per input only if the function completes successfully; failures are thrown as is (so they may still be resolved by any exception
+     * handling strategy) and the next invocation for the same input invokes this function again.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return memoizing {@link Checked checked} function
+     * @see PrimitiveCache#maximumSize(int)
+     */
+    default CheckedIntUnaryOperator<X> memoize(int maximumSize) {
+        PrimitiveCache cache = PrimitiveCache.maximumSize(maximumSize);
+        CheckedLongToIntFunction<X> loader = key -> applyAsIntWithException((int) key);
+        return operand -> cache.getAsInt(operand, loader);
+    }
+
+    /**
+     * Get version of this function that caches its results for inputs of provided range in a dense {@link PrimitiveCache}, e.g.
+     *
+     * <pre>
+     *  percentStream.map(wrap(this::lookUpThreshold).memoize(0, 100))
+     * </pre>
+     * <p>
+     * Inputs out of the range are not cached at all.
+     *
+     * @param minValue the minimum cached input (inclusive)
+     * @param maxValue the maximum cached input (inclusive)
+     * @return memoizing {@link Checked checked} function
+     * @see PrimitiveCache#range(long, long)
+     */
+    default CheckedIntUnaryOperator<X> memoize(int minValue, int maxValue) {
+        PrimitiveCache cache = PrimitiveCache.range(minValue, maxValue);
+        CheckedLongToIntFunction<X> loader = key -> applyAsIntWithException((int) key);
+        return operand -> cache.getAsInt(operand, loader);
+    }
+
 }
@@ -63,4 +63,14 @@ public interface CheckedLongBinaryOperator<X extends Exception> extends LongBina
         };
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    default CheckedLongBinaryOperator<X> interceptWith(Interceptor interceptor) {
+        return (left, right) -> interceptor.<Long, X>intercept(() -> applyAsLongWithException(left, right));
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.PrimitiveCache;
 import com.github.pawelkow.exception.resolver.ReferenceResolver;
 
 import java.util.function.LongFunction;
@@ -67,4 +68,30 @@ public interface CheckedLongFunction<R, X extends Exception> extends LongFunctio
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedLongFunction<R, X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<R, X>intercept(() -> applyWithException(value));
+    }
+
+    /**
+     * Get version of this function that caches its results in a {@link PrimitiveCache} holding at most provided number of entries (without boxing
+     * the inputs).
+     * <p>
+     * Results are cached per input only if the function completes successfully; failures are thrown as is (so they may still be resolved by any exception
+     * handling strategy) and the next invocation for the same input invokes this function again.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return memoizing {@link Checked checked} function
+     * @see PrimitiveCache#maximumSize(int)
+     */
+    default CheckedLongFunction<R, X> memoize(int maximumSize) {
+        PrimitiveCache cache = PrimitiveCache.maximumSize(maximumSize);
+        return value -> cache.get(value, this);
+    }
+
 }
@@ -62,4 +62,14 @@ public interface CheckedLongPredicate<X extends Exception> extends LongPredicate
         };
     }
 
+    /**
+     * Get version of this predicate that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted predicate
+     */
+    default CheckedLongPredicate<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Boolean, X>intercept(() -> testWithException(value));
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.PrimitiveCache;
 import com.github.pawelkow.exception.resolver.DoubleResolver;
 
 import java.util.function.LongToDoubleFunction;
@@ -62,4 +63,30 @@ public interface CheckedLongToDoubleFunction<X extends Exception> extends LongTo
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedLongToDoubleFunction<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Double, X>intercept(() -> applyAsDoubleWithException(value));
+    }
+
+    /**
+     * Get version of this function that caches its results in a {@link PrimitiveCache} holding at most provided number of entries (without boxing
+     * the inputs).
+     * <p>
+     * Results are cached per input only if the function completes successfully; failures are thrown as is (so they may still be resolved by any exception
+     * handling strategy) and the next invocation for the same input invokes this function again.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return memoizing {@link Checked checked} function
+     * @see PrimitiveCache#maximumSize(int)
+     */
+    default CheckedLongToDoubleFunction<X> memoize(int maximumSize) {
+        PrimitiveCache cache = PrimitiveCache.maximumSize(maximumSize);
+        return value -> cache.getAsDouble(value, this);
+    }
+
 }
@@ -62,4 +62,14 @@ public interface CheckedLongToIntFunction<X extends Exception> extends LongToInt
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedLongToIntFunction<X> interceptWith(Interceptor interceptor) {
+        return value -> interceptor.<Integer, X>intercept(() -> applyAsIntWithException(value));
+    }
+
 }
@@ -62,4 +62,14 @@ public interface CheckedLongUnaryOperator<X extends Exception> extends LongUnary
         };
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    default CheckedLongUnaryOperator<X> interceptWith(Interceptor interceptor) {
+        return operand -> interceptor.<Long, X>intercept(() -> applyAsLongWithException(operand));
+    }
+
 }
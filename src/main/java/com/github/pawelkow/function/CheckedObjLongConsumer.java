@@ -61,4 +61,17 @@ public interface CheckedObjLongConsumer<T, X extends Exception> extends ObjLongC
         };
     }
 
+    /**
+     * Get version of this operation that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operation
+     */
+    default CheckedObjLongConsumer<T, X> interceptWith(Interceptor interceptor) {
+        return (t, value) -> interceptor.<Void, X>intercept(() -> {
+            acceptWithException(t, value);
+            return null;
+        });
+    }
+
 }
@@ -65,4 +65,14 @@ public interface CheckedPredicate<T, X extends Exception> extends Predicate<T>,
         };
     }
 
+    /**
+     * Get version of this predicate that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted predicate
+     */
+    default CheckedPredicate<T, X> interceptWith(Interceptor interceptor) {
+        return t -> interceptor.<Boolean, X>intercept(() -> testWithException(t));
+    }
+
 }
@@ -1,7 +1,12 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.Lazy;
+import com.github.pawelkow.concurrent.CheckedFutures;
 import com.github.pawelkow.exception.resolver.ReferenceResolver;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -62,4 +67,86 @@ public interface CheckedSupplier<T, X extends Exception> extends Supplier<T>, Ch
         };
     }
 
+    /**
+     * Gets a result asynchronously using provided executor.
+     * <p>
+     * Any exception that could be thrown will complete returned future exceptionally as is (without {@link java.util.concurrent.CompletionException} wrapping).
+     *
+     * @param executor {@link Executor} used to get the result
+     * @return {@link CompletableFuture} of the result
+     */
+    default CompletableFuture<T> async(Executor executor) {
+        return CheckedFutures.supplyAsync(this, executor);
+    }
+
+    /**
+     * Gets a result asynchronously using provided executor, resolving any exception within the same stage.
+     *
+     * @param executor {@link Executor} used to get the result
+     * @param resolver {@link ReferenceResolver exception resolver} capable of providing object references as fallback values
+     * @return {@link CompletableFuture} of the result (completed exceptionally only if the resolver rethrows the exception)
+     */
+    default CompletableFuture<T> async(Executor executor, ReferenceResolver<? extends T> resolver) {
+        return CheckedFutures.supplyAsync(handleException(resolver)::get, executor);
+    }
+
+    /**
+     * Get version of this supplier that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted supplier
+     */
+    default CheckedSupplier<T, X> interceptWith(Interceptor interceptor) {
+        return () -> interceptor.<T, X>intercept(this::getWithException);
+    }
+
+    /**
+     * Get version of this supplier that is run with shared {@link CheckedFutures#defaultExecutor() executor} (using virtual threads where available)
+     * and interrupted once provided timeout elapses, e.g.
+     *
+     * <pre>
+     *  wrap(this::read).withTimeout(Duration.ofSeconds(1)).handleException(new ReferenceHandler&lt;String&gt;()
+     *          .inCaseOf(TimeoutException.class).returnValue("timed out")
+     *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new));
+     * </pre>
+     *
+     * @param timeout the maximum time to wait for each invocation
+     * @return {@link Checked checked} supplier throwing {@link java.util.concurrent.TimeoutException} once the timeout elapses
+     * @see CheckedFutures#getWithTimeout(CheckedSupplier, Duration, Executor)
+     */
+    default CheckedSupplier<T, Exception> withTimeout(Duration timeout) {
+        return withTimeout(timeout, CheckedFutures.defaultExecutor());
+    }
+
+    /**
+     * Get version of this supplier that is run with provided executor and interrupted once provided timeout elapses.
+     *
+     * @param timeout  the maximum time to wait for each invocation
+     * @param executor {@link Executor} used to run the supplier
+     * @return {@link Checked checked} supplier throwing {@link java.util.concurrent.TimeoutException} once the timeout elapses
+     * @see CheckedFutures#getWithTimeout(CheckedSupplier, Duration, Executor)
+     */
+    default CheckedSupplier<T, Exception> withTimeout(Duration timeout, Executor executor) {
+        return () -> CheckedFutures.getWithTimeout(this, timeout, executor);
+    }
+
+    /**
+     * Get version of this supplier that computes the value at most once, computing it again on the next call after a failure.
+     *
+     * @return {@link Lazy} supplier
+     */
+    default CheckedSupplier<T, X> lazy() {
+        return Lazy.of(this);
+    }
+
+    /**
+     * Get version of this supplier that computes the value at most once, handling failures according to provided policy.
+     *
+     * @param failurePolicy {@link Lazy.FailurePolicy} applied when the computation fails
+     * @return {@link Lazy} supplier
+     */
+    default CheckedSupplier<T, X> lazy(Lazy.FailurePolicy<T> failurePolicy) {
+        return Lazy.of(this, failurePolicy);
+    }
+
 }
@@ -68,4 +68,14 @@ public interface CheckedToDoubleBiFunction<T, U, X extends Exception> extends To
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedToDoubleBiFunction<T, U, X> interceptWith(Interceptor interceptor) {
+        return (t, u) -> interceptor.<Double, X>intercept(() -> applyAsDoubleWithException(t, u));
+    }
+
 }
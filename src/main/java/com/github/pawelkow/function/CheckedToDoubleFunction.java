@@ -64,4 +64,14 @@ public interface CheckedToDoubleFunction<T, X extends Exception> extends ToDoubl
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedToDoubleFunction<T, X> interceptWith(Interceptor interceptor) {
+        return t -> interceptor.<Double, X>intercept(() -> applyAsDoubleWithException(t));
+    }
+
 }
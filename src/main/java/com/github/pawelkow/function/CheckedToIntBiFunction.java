@@ -68,4 +68,14 @@ public interface CheckedToIntBiFunction<T, U, X extends Exception> extends ToInt
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedToIntBiFunction<T, U, X> interceptWith(Interceptor interceptor) {
+        return (t, u) -> interceptor.<Integer, X>intercept(() -> applyAsIntWithException(t, u));
+    }
+
 }
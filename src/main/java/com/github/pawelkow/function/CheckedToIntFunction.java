@@ -64,4 +64,14 @@ public interface CheckedToIntFunction<T, X extends Exception> extends ToIntFunct
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedToIntFunction<T, X> interceptWith(Interceptor interceptor) {
+        return t -> interceptor.<Integer, X>intercept(() -> applyAsIntWithException(t));
+    }
+
 }
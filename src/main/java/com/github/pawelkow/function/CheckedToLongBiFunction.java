@@ -68,4 +68,14 @@ public interface CheckedToLongBiFunction<T, U, X extends Exception> extends ToLo
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedToLongBiFunction<T, U, X> interceptWith(Interceptor interceptor) {
+        return (t, u) -> interceptor.<Long, X>intercept(() -> applyAsLongWithException(t, u));
+    }
+
 }
@@ -64,4 +64,14 @@ public interface CheckedToLongFunction<T, X extends Exception> extends ToLongFun
         };
     }
 
+    /**
+     * Get version of this function that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted function
+     */
+    default CheckedToLongFunction<T, X> interceptWith(Interceptor interceptor) {
+        return t -> interceptor.<Long, X>intercept(() -> applyAsLongWithException(t));
+    }
+
 }
@@ -35,4 +35,15 @@ public interface CheckedUnaryOperator<T, X extends Exception> extends UnaryOpera
         return (CheckedUnaryOperator<T, X>) unaryOperator;
     }
 
+    /**
+     * Get version of this operator that performs every invocation through provided {@link Interceptor}.
+     *
+     * @param interceptor {@link Interceptor} to be applied
+     * @return intercepted operator
+     */
+    @Override
+    default CheckedUnaryOperator<T, X> interceptWith(Interceptor interceptor) {
+        return t -> interceptor.<T, X>intercept(() -> applyWithException(t));
+    }
+
 }
@@ -0,0 +1,43 @@
+package com.github.pawelkow.function;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Common utilities for dealing with failures of checked invocations, shared by decorators of this library.
+ */
+public final class Failures {
+
+    private Failures() {
+    }
+
+    /**
+     * Create predicate matching exceptions that are instances of any of provided types.
+     *
+     * @param types the types of exceptions to be matched
+     * @return {@link Predicate} matching exceptions
+     */
+    public static Predicate<Throwable> anyOf(Collection<? extends Class<? extends Throwable>> types) {
+        return exception -> types.stream().anyMatch(type -> type.isInstance(exception));
+    }
+
+    /**
+     * Rethrow failure of a checked invocation, which may only be an error, an unchecked exception or the checked one declared by the invocation.
+     *
+     * @param failure exception to be rethrown
+     * @param <X>     {@link Exception exception} type declared by the invocation
+     * @return never returns normally, declared only to allow {@code throw propagate(failure)} statements
+     * @throws X if the failure is a checked exception
+     */
+    @SuppressWarnings("unchecked")
+    public static <X extends Exception> RuntimeException propagate(Throwable failure) throws X {
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        throw (X) failure;
+    }
+
+}
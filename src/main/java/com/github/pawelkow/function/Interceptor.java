@@ -0,0 +1,34 @@
+package com.github.pawelkow.function;
+
+/**
+ * Strategy applied around every invocation of {@link Checked} functional interfaces, e.g. retrying failed invocations.
+ * <p>
+ * Interceptors are applied with {@code interceptWith} method available in each interface and (contrary to exception handling strategies)
+ * keep the interface {@link Checked checked}, so they may be combined with each other and followed by any exception handling strategy, e.g.
+ *
+ * <pre>
+ *  stream.map(wrap(this::download)
+ *          .interceptWith(Retry.inCaseOf(SocketTimeoutException.class).times(3))
+ *          .supplyFallback(this::fallback));
+ * </pre>
+ * <p>
+ * NOTE: every intercepted invocation is captured in a {@link CheckedSupplier} and primitive results (of e.g. {@link CheckedIntFunction}
+ * or {@link CheckedIntPredicate}) pass through the interceptor boxed, so intercepted invocations are not allocation free, even if they succeed
+ * on the first attempt.
+ *
+ * @author pawelkowalski92
+ */
+public interface Interceptor {
+
+    /**
+     * Perform intercepted invocation.
+     *
+     * @param invocation {@link CheckedSupplier} representing single invocation of intercepted interface (may be invoked any number of times)
+     * @param <R>        the type of the result of the invocation
+     * @param <X>        {@link Exception exception} type that is supported
+     * @return the result of the invocation
+     * @throws X {@link Exception exception(s)} related to the invocation
+     */
+    <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X;
+
+}
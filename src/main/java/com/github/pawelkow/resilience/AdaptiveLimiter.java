@@ -0,0 +1,244 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Failures;
+import com.github.pawelkow.function.Interceptor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * {@link Interceptor} that limits the number of invocations performed at the same time, adjusting the limit to observed latency and failures, e.g.
+ *
+ * <pre>
+ *  AdaptiveLimiter limiter = AdaptiveLimiter.inCaseOf(IOException.class)
+ *          .initialLimit(20)
+ *          .latencyThreshold(Duration.ofMillis(200))
+ *          .build();
+ *
+ *  requests.parallelStream().map(wrap(this::send).interceptWith(limiter).handleException(new ReferenceHandler&lt;Response&gt;()
+ *          .inCaseOf(LimitExceededException.class).supplyValue(Response::tooManyRequests)
+ *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new)));
+ * </pre>
+ * <p>
+ * The limit follows <i>additive increase / multiplicative decrease</i> rule: every successful invocation completed within the latency threshold
+ * increases it by {@code 1 / limit} (i.e. by one per limit's worth of invocations), while failure of configured type or invocation exceeding
+ * the threshold multiplies it by the backoff ratio. The limit is decreased at most once per round trip, i.e. only by invocations started after the
+ * previous decrease, so a burst of failures in flight together backs off just once. The limit grows only if it's actually used, i.e. at least half
+ * of it is in flight.
+ * <p>
+ * Invocations over the limit are shed with {@link LimitExceededException}, so they may be resolved by regular exception handling strategy.
+ * Both the limit and the number of invocations in flight are maintained with compare-and-set only.
+ */
+public final class AdaptiveLimiter implements Interceptor {
+
+    private final Predicate<Throwable> recordedFailure;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limit;
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime() - 1);
+
+    private AdaptiveLimiter(Builder builder) {
+        this.recordedFailure = builder.recordedFailure;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.latencyThresholdNanos = builder.latencyThreshold.toNanos();
+        this.backoffRatio = builder.backoffRatio;
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(Math.max(minLimit, Math.min(maxLimit, builder.initialLimit))));
+    }
+
+    /**
+     * Get builder of limiter that decreases the limit on failures of provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should decrease the limit
+     * @return {@link Builder}
+     */
+    public static Builder inCaseOf(Collection<? extends Class<? extends Throwable>> exceptionTypes) {
+        return new Builder(Failures.anyOf(exceptionTypes));
+    }
+
+    /**
+     * Get builder of limiter that decreases the limit on failures of provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should decrease the limit
+     * @return {@link Builder}
+     */
+    @SafeVarargs
+    public static Builder inCaseOf(Class<? extends Throwable>... exceptionTypes) {
+        return inCaseOf(Arrays.asList(exceptionTypes));
+    }
+
+    /**
+     * Get builder of limiter that decreases the limit on any {@link Exception}.
+     *
+     * @return {@link Builder}
+     */
+    public static Builder inAnyCase() {
+        return inCaseOf(Exception.class);
+    }
+
+    /**
+     * Get current concurrency limit.
+     *
+     * @return the maximum number of invocations currently allowed to be performed at the same time
+     */
+    public int getLimit() {
+        return (int) currentLimit();
+    }
+
+    /**
+     * Get the number of invocations currently performed.
+     *
+     * @return the number of invocations in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+        int concurrency = acquirePermission();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            R result = invocation.getWithException();
+            failed = false;
+            return result;
+        } catch (Exception exception) {
+            failed = recordedFailure.test(exception);
+            throw exception;
+        } finally {
+            inFlight.decrementAndGet();
+            onCompletion(concurrency, start, failed);
+        }
+    }
+
+    private int acquirePermission() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                throw new LimitExceededException("Concurrency limit reached", this);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private void onCompletion(int concurrency, long start, boolean failed) {
+        long end = System.nanoTime();
+        boolean overloaded = failed || latencyThresholdNanos > 0 && end - start > latencyThresholdNanos;
+        if (overloaded) {
+            long lastDecrease = lastDecreaseNanos.get();
+            if (start - lastDecrease <= 0 || !lastDecreaseNanos.compareAndSet(lastDecrease, end)) {
+                return;
+            }
+        }
+        while (true) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            double updated;
+            if (overloaded) {
+                updated = Math.max(minLimit, current * backoffRatio);
+            } else if (concurrency * 2 >= current) {
+                updated = Math.min(maxLimit, current + 1 / current);
+            } else {
+                return;
+            }
+            if (updated == current || limit.compareAndSet(bits, Double.doubleToRawLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    private double currentLimit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    /**
+     * Builder of {@link AdaptiveLimiter}.
+     */
+    public static final class Builder {
+
+        private final Predicate<Throwable> recordedFailure;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 1000;
+        private Duration latencyThreshold = Duration.ZERO;
+        private double backoffRatio = 0.9;
+
+        private Builder(Predicate<Throwable> recordedFailure) {
+            this.recordedFailure = recordedFailure;
+        }
+
+        /**
+         * Configure the limit used before any invocation is observed (20 by default).
+         *
+         * @param initialLimit initial concurrency limit
+         * @return this builder
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Configure bounds of the limit (between 1 and 1000 by default).
+         *
+         * @param minLimit the lowest limit
+         * @param maxLimit the highest limit
+         * @return this builder
+         */
+        public Builder bounds(int minLimit, int maxLimit) {
+            if (minLimit <= 0 || maxLimit < minLimit) {
+                throw new IllegalArgumentException("Invalid limit bounds: [" + minLimit + ", " + maxLimit + "]");
+            }
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Configure latency above which invocations decrease the limit (by default only failures do).
+         *
+         * @param latencyThreshold the longest acceptable invocation time
+         * @return this builder
+         */
+        public Builder latencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        /**
+         * Configure factor applied to the limit on overload (0.9 by default).
+         *
+         * @param backoffRatio multiplicative decrease factor (between {@code 0} and {@code 1} exclusive)
+         * @return this builder
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (backoffRatio <= 0 || backoffRatio >= 1) {
+                throw new IllegalArgumentException("Backoff ratio must be between 0 and 1: " + backoffRatio);
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Build configured limiter.
+         *
+         * @return {@link AdaptiveLimiter}
+         */
+        public AdaptiveLimiter build() {
+            return new AdaptiveLimiter(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.github.pawelkow.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strategy determining how long to wait before subsequent retries.
+ */
+@FunctionalInterface
+public interface Backoff {
+
+    /**
+     * Get backoff that doesn't wait at all.
+     *
+     * @return {@link Backoff}
+     */
+    static Backoff none() {
+        return retry -> 0;
+    }
+
+    /**
+     * Get backoff that always waits the same amount of time.
+     *
+     * @param delay time to wait before each retry
+     * @return {@link Backoff}
+     */
+    static Backoff fixed(Duration delay) {
+        long delayNanos = delay.toNanos();
+        return retry -> delayNanos;
+    }
+
+    /**
+     * Get backoff that waits exponentially longer before each retry, up to provided limit.
+     *
+     * @param initialDelay time to wait before the first retry
+     * @param multiplier   factor by which the delay grows with each retry
+     * @param maxDelay     the maximum time to wait
+     * @return {@link Backoff}
+     */
+    static Backoff exponential(Duration initialDelay, double multiplier, Duration maxDelay) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Multiplier must not be lower than 1: " + multiplier);
+        }
+        long initialDelayNanos = initialDelay.toNanos();
+        long maxDelayNanos = maxDelay.toNanos();
+        return new Backoff() {
+            @Override
+            public long delayNanos(int retry) {
+                return (long) Math.min(initialDelayNanos * Math.pow(multiplier, retry - 1), maxDelayNanos);
+            }
+
+            @Override
+            public long maxDelayNanos() {
+                return maxDelayNanos;
+            }
+        };
+    }
+
+    /**
+     * Get time to wait before provided retry.
+     *
+     * @param retry the number of retry (starting with {@code 1})
+     * @return time to wait in nanoseconds
+     */
+    long delayNanos(int retry);
+
+    /**
+     * Get the maximum time to wait before any retry, which is never exceeded (not even with {@link #withJitter(double) jitter} applied).
+     *
+     * @return the maximum time to wait in nanoseconds ({@link Long#MAX_VALUE} if unlimited)
+     */
+    default long maxDelayNanos() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Get version of this backoff that randomizes delays, which prevents many callers from retrying in lockstep.
+     * <p>
+     * Randomized delays are still limited by the {@link #maxDelayNanos() maximum delay}.
+     *
+     * @param jitterFactor the maximum fraction of the delay that may be added or subtracted (between {@code 0} and {@code 1})
+     * @return {@link Backoff}
+     */
+    default Backoff withJitter(double jitterFactor) {
+        if (jitterFactor < 0 || jitterFactor > 1) {
+            throw new IllegalArgumentException("Jitter factor must be between 0 and 1: " + jitterFactor);
+        }
+        Backoff backoff = this;
+        return new Backoff() {
+            @Override
+            public long delayNanos(int retry) {
+                long delay = backoff.delayNanos(retry);
+                return Math.min((long) (delay * (1 + jitterFactor * ThreadLocalRandom.current().nextDouble(-1, 1))), maxDelayNanos());
+            }
+
+            @Override
+            public long maxDelayNanos() {
+                return backoff.maxDelayNanos();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Interceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Interceptor} that limits the number of invocations performed at the same time, e.g.
+ *
+ * <pre>
+ *  Bulkhead bulkhead = Bulkhead.maxConcurrentCalls(8)
+ *          .maxWait(Duration.ofMillis(50))
+ *          .build();
+ *
+ *  urls.parallelStream().map(wrap(this::download).interceptWith(bulkhead).handleException(new ReferenceHandler&lt;String&gt;()
+ *          .inCaseOf(BulkheadFullException.class).returnValue("busy")
+ *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new)));
+ * </pre>
+ * <p>
+ * Once the limit is reached, subsequent invocations wait for a permit up to configured time (by default they don't wait at all) and then are rejected
+ * with {@link BulkheadFullException}, so they may be resolved by regular exception handling strategy. This way a single slow dependency cannot occupy
+ * all threads of shared pool (e.g. {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}).
+ * <p>
+ * Permits are held in a non-fair {@link Semaphore}, hence acquiring and releasing them is a single compare-and-set unless the invocation has to wait.
+ * If the thread gets interrupted while waiting, the invocation is rejected and the interruption status is restored.
+ */
+public final class Bulkhead implements Interceptor {
+
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+
+    private Bulkhead(int maxConcurrentCalls, long maxWaitNanos) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWaitNanos;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Get builder of bulkhead limited to provided number of concurrent invocations.
+     *
+     * @param maxConcurrentCalls the maximum number of invocations performed at the same time
+     * @return {@link Builder}
+     */
+    public static Builder maxConcurrentCalls(int maxConcurrentCalls) {
+        return new Builder(maxConcurrentCalls);
+    }
+
+    /**
+     * Get the maximum number of invocations performed at the same time.
+     *
+     * @return the maximum number of concurrent invocations
+     */
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * Get the number of invocations that may be started right now without waiting.
+     *
+     * @return the number of available permits
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+        acquirePermission();
+        try {
+            return invocation.getWithException();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermission() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (maxWaitNanos > 0) {
+            try {
+                if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        throw new BulkheadFullException("Bulkhead is full", this);
+    }
+
+    /**
+     * Builder of {@link Bulkhead}.
+     */
+    public static final class Builder {
+
+        private final int maxConcurrentCalls;
+        private Duration maxWait = Duration.ZERO;
+
+        private Builder(int maxConcurrentCalls) {
+            if (maxConcurrentCalls <= 0) {
+                throw new IllegalArgumentException("Max concurrent calls must be positive: " + maxConcurrentCalls);
+            }
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        /**
+         * Configure how long invocations wait for a permit before they are rejected (no waiting by default).
+         *
+         * @param maxWait the maximum time spent waiting
+         * @return this builder
+         */
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Build configured bulkhead.
+         *
+         * @return {@link Bulkhead}
+         */
+        public Bulkhead build() {
+            return new Bulkhead(maxConcurrentCalls, maxWait.toNanos());
+        }
+
+    }
+
+}
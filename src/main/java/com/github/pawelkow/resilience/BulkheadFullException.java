@@ -0,0 +1,18 @@
+package com.github.pawelkow.resilience;
+
+/**
+ * Thrown when {@link Bulkhead} rejects the invocation because the limit of concurrent invocations has been reached.
+ */
+public class BulkheadFullException extends CallNotPermittedException {
+
+    /**
+     * Used to construct new exception.
+     *
+     * @param message  the detail message
+     * @param bulkhead {@link Bulkhead} that rejected the invocation
+     */
+    public BulkheadFullException(String message, Bulkhead bulkhead) {
+        super(message, bulkhead);
+    }
+
+}
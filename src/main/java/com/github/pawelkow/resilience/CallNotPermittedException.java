@@ -0,0 +1,37 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.function.Interceptor;
+
+/**
+ * Thrown when an {@link Interceptor} rejects the invocation without performing it, e.g. because the circuit breaker is open.
+ * <p>
+ * Since it's thrown instead of the intercepted invocation, it may be resolved as any other exception, e.g.
+ * {@code .inCaseOf(CallNotPermittedException.class).supplyValue(this::fallback)}.
+ * <p>
+ * NOTE: to keep rejections cheap, stack trace is not filled in.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    private final transient Interceptor interceptor;
+
+    /**
+     * Used to construct new exception.
+     *
+     * @param message     the detail message
+     * @param interceptor {@link Interceptor} that rejected the invocation
+     */
+    public CallNotPermittedException(String message, Interceptor interceptor) {
+        super(message, null, false, false);
+        this.interceptor = interceptor;
+    }
+
+    /**
+     * Gets {@link Interceptor} that rejected the invocation.
+     *
+     * @return rejecting interceptor
+     */
+    public Interceptor getInterceptor() {
+        return interceptor;
+    }
+
+}
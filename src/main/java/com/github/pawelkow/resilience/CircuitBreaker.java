@@ -0,0 +1,396 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Failures;
+import com.github.pawelkow.function.Interceptor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link Interceptor} that stops performing invocations once too many of them fail with configured exception types, e.g.
+ *
+ * <pre>
+ *  CircuitBreaker breaker = CircuitBreaker.inCaseOf(IOException.class)
+ *          .slidingWindow(100)
+ *          .failureRateThreshold(0.5)
+ *          .openDuration(Duration.ofSeconds(30))
+ *          .build();
+ *
+ *  stream.map(wrap(this::fetch).interceptWith(breaker).handleException(new ReferenceHandler&lt;String&gt;()
+ *          .inCaseOf(CallNotPermittedException.class).supplyValue(this::cached)
+ *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new)));
+ * </pre>
+ * <p>
+ * Outcomes of the most recent invocations are recorded in a count based sliding window. Once the failure rate exceeds the threshold, the breaker
+ * becomes {@link State#OPEN open}: invocations are rejected with {@link CallNotPermittedException} without calling the delegate, so they go straight to
+ * the exception handling strategy. After the open duration elapses, the breaker becomes {@link State#HALF_OPEN half-open} and lets a limited number of probes
+ * through: if all of them succeed, it's {@link State#CLOSED closed} again, otherwise it's reopened.
+ * <p>
+ * Exceptions that are not configured count as successful invocations, while errors (and any other throwables) always count as failures. The state is maintained with atomic operations only, there are no locks on the call path.
+ */
+public final class CircuitBreaker implements Interceptor {
+
+    private final Predicate<Throwable> recordedFailure;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final AtomicReference<Phase> phase;
+
+    private CircuitBreaker(Predicate<Throwable> recordedFailure, int windowSize, int minimumCalls, double failureRateThreshold, long openDurationNanos,
+                           int halfOpenProbes) {
+        this.recordedFailure = recordedFailure;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenProbes = halfOpenProbes;
+        this.phase = new AtomicReference<>(closed());
+    }
+
+    /**
+     * Get builder of circuit breaker that records failures of provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should be recorded as failures
+     * @return {@link Builder}
+     */
+    public static Builder inCaseOf(Collection<? extends Class<? extends Throwable>> exceptionTypes) {
+        return new Builder(Failures.anyOf(exceptionTypes));
+    }
+
+    /**
+     * Get builder of circuit breaker that records failures of provided types.
+     *
+     * @param exceptionTypes collection of the exception types that should be recorded as failures
+     * @return {@link Builder}
+     */
+    @SafeVarargs
+    public static Builder inCaseOf(Class<? extends Throwable>... exceptionTypes) {
+        return inCaseOf(Arrays.asList(exceptionTypes));
+    }
+
+    /**
+     * Get builder of circuit breaker that records any {@link Exception} as failure.
+     *
+     * @return {@link Builder}
+     */
+    public static Builder inAnyCase() {
+        return inCaseOf(Exception.class);
+    }
+
+    /**
+     * Get current state of the breaker.
+     *
+     * @return {@link State}
+     */
+    public State getState() {
+        Phase current = phase.get();
+        if (current.state == State.OPEN && isOpenDurationElapsed(current)) {
+            return State.HALF_OPEN;
+        }
+        return current.state;
+    }
+
+    /**
+     * Get failure rate of invocations recorded in the sliding window while the breaker is closed.
+     *
+     * @return failure rate (between {@code 0} and {@code 1}) or {@code -1} if there are not enough invocations recorded yet
+     */
+    public double getFailureRate() {
+        Phase current = phase.get();
+        return current.window == null ? -1 : current.window.failureRate();
+    }
+
+    /**
+     * Verify if provided exception is recorded as failure by this breaker.
+     *
+     * @param exception exception thrown by the invocation
+     * @return {@code true} if the exception is recorded as failure, otherwise {@code false}
+     */
+    public boolean isRecordedFailure(Throwable exception) {
+        return recordedFailure.test(exception);
+    }
+
+    /**
+     * Create new (closed) breaker with the same configuration as this one.
+     *
+     * @return {@link CircuitBreaker}
+     */
+    CircuitBreaker copy() {
+        return new CircuitBreaker(recordedFailure, windowSize, minimumCalls, failureRateThreshold, openDurationNanos, halfOpenProbes);
+    }
+
+    /**
+     * Try to acquire permission for a single invocation.
+     * <p>
+     * NOTE: once permission is acquired, the outcome of the invocation must be reported with {@link #onSuccess(Phase)} or {@link #onFailure(Phase, Throwable)}.
+     *
+     * @return current phase of the breaker
+     * @throws CallNotPermittedException if the breaker doesn't permit invocation
+     */
+    Phase acquirePermission() {
+        while (true) {
+            Phase current = phase.get();
+            switch (current.state) {
+                case CLOSED:
+                    return current;
+                case OPEN:
+                    if (!isOpenDurationElapsed(current)) {
+                        throw new CallNotPermittedException("Circuit breaker is open", this);
+                    }
+                    phase.compareAndSet(current, halfOpen());
+                    break;
+                default:
+                    if (current.permittedProbes.incrementAndGet() <= halfOpenProbes) {
+                        return current;
+                    }
+                    throw new CallNotPermittedException("Circuit breaker is half-open", this);
+            }
+        }
+    }
+
+    void onSuccess(Phase current) {
+        if (current.state == State.CLOSED) {
+            current.window.record(false);
+        } else if (current.successfulProbes.incrementAndGet() >= halfOpenProbes) {
+            phase.compareAndSet(current, closed());
+        }
+    }
+
+    void onFailure(Phase current, Throwable exception) {
+        if (exception instanceof Exception && !isRecordedFailure(exception)) {
+            onSuccess(current);
+        } else if (current.state == State.HALF_OPEN) {
+            phase.compareAndSet(current, open());
+        } else if (current.window.record(true) >= failureRateThreshold) {
+            phase.compareAndSet(current, open());
+        }
+    }
+
+    @Override
+    public <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+        Phase current = acquirePermission();
+        R result;
+        try {
+            result = invocation.getWithException();
+        } catch (Exception exception) {
+            onFailure(current, exception);
+            throw exception;
+        } catch (Throwable error) {
+            onFailure(current, error);
+            throw error;
+        }
+        onSuccess(current);
+        return result;
+    }
+
+    private boolean isOpenDurationElapsed(Phase current) {
+        return System.nanoTime() - current.openedAt >= openDurationNanos;
+    }
+
+    private Phase closed() {
+        return new Phase(State.CLOSED, 0, new Window(windowSize, minimumCalls));
+    }
+
+    private Phase open() {
+        return new Phase(State.OPEN, System.nanoTime(), null);
+    }
+
+    private Phase halfOpen() {
+        return new Phase(State.HALF_OPEN, 0, null);
+    }
+
+    /**
+     * State of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        /**
+         * Invocations are performed and their outcomes recorded.
+         */
+        CLOSED,
+        /**
+         * Invocations are rejected.
+         */
+        OPEN,
+        /**
+         * Limited number of probing invocations is performed to determine if the breaker may be closed.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Immutable phase of the breaker, replaced as a whole on every state transition.
+     */
+    static final class Phase {
+
+        private final State state;
+        private final long openedAt;
+        private final Window window;
+        private final AtomicInteger permittedProbes = new AtomicInteger();
+        private final AtomicInteger successfulProbes = new AtomicInteger();
+
+        private Phase(State state, long openedAt, Window window) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.window = window;
+        }
+
+    }
+
+    /**
+     * Lock-free count based sliding window of invocation outcomes.
+     */
+    static final class Window {
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final int minimumCalls;
+
+        Window(int size, int minimumCalls) {
+            this.outcomes = new AtomicIntegerArray(size);
+            this.minimumCalls = minimumCalls;
+        }
+
+        /**
+         * Record outcome of the invocation, replacing the oldest one.
+         *
+         * @param failure {@code true} if the invocation failed
+         * @return failure rate after recording or {@code -1} if there are not enough invocations recorded yet
+         */
+        double record(boolean failure) {
+            int outcome = failure ? 1 : 0;
+            int index = (int) (calls.getAndIncrement() % outcomes.length());
+            int replaced = outcomes.getAndSet(index, outcome);
+            if (outcome != replaced) {
+                failures.addAndGet(outcome - replaced);
+            }
+            return failureRate();
+        }
+
+        double failureRate() {
+            long recorded = Math.min(calls.get(), outcomes.length());
+            return recorded < minimumCalls ? -1 : (double) failures.get() / recorded;
+        }
+
+    }
+
+    /**
+     * Builder of {@link CircuitBreaker}.
+     */
+    public static final class Builder {
+
+        private final Predicate<Throwable> recordedFailure;
+        private int windowSize = 100;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(60);
+        private int halfOpenProbes = 5;
+
+        private Builder(Predicate<Throwable> recordedFailure) {
+            this.recordedFailure = recordedFailure;
+        }
+
+        /**
+         * Configure the number of most recent invocations used to compute failure rate (100 by default).
+         *
+         * @param windowSize size of the sliding window
+         * @return this builder
+         */
+        public Builder slidingWindow(int windowSize) {
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Configure the minimum number of invocations required before the breaker may open (10 by default).
+         *
+         * @param minimumCalls the minimum number of recorded invocations
+         * @return this builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls <= 0) {
+                throw new IllegalArgumentException("Minimum calls must be positive: " + minimumCalls);
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Configure failure rate that opens the breaker (0.5 by default).
+         *
+         * @param failureRateThreshold failure rate (between {@code 0} exclusive and {@code 1} inclusive)
+         * @return this builder
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("Failure rate threshold must be between 0 and 1: " + failureRateThreshold);
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Configure how long the breaker stays open before probing invocations are let through (60 seconds by default).
+         *
+         * @param openDuration time spent in open state
+         * @return this builder
+         */
+        public Builder openDuration(Duration openDuration) {
+            if (openDuration.isNegative() || openDuration.isZero()) {
+                throw new IllegalArgumentException("Open duration must be positive: " + openDuration);
+            }
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * Configure the number of probing invocations performed in half-open state (5 by default).
+         *
+         * @param halfOpenProbes the number of probes that must succeed to close the breaker
+         * @return this builder
+         */
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            if (halfOpenProbes <= 0) {
+                throw new IllegalArgumentException("Half-open probes must be positive: " + halfOpenProbes);
+            }
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        /**
+         * Build configured circuit breaker (initially closed).
+         *
+         * @return {@link CircuitBreaker}
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(recordedFailure, windowSize, minimumCalls, failureRateThreshold, openDuration.toNanos(), halfOpenProbes);
+        }
+
+        /**
+         * Get builder of breakers maintained separately for every key derived from function input.
+         *
+         * @param keyExtractor function deriving the key from the input
+         * @param <T>          the type of the input
+         * @return {@link KeyedCircuitBreaker.Builder}
+         * @see KeyedCircuitBreaker
+         */
+        public <T> KeyedCircuitBreaker.Builder<T> perKey(Function<? super T, ?> keyExtractor) {
+            return new KeyedCircuitBreaker.Builder<>(build(), keyExtractor);
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.concurrent.CheckedFutures;
+import com.github.pawelkow.concurrent.Deadline;
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Failures;
+import com.github.pawelkow.function.Interceptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link Interceptor} that launches a backup attempt of slow invocation and returns whichever attempt succeeds first, e.g.
+ *
+ * <pre>
+ *  Hedge hedge = Hedge.atPercentile(0.95, Duration.ofMillis(10));
+ *
+ *  keys.stream().map(wrap(this::lookup).interceptWith(hedge).handleException(new ReferenceHandler&lt;String&gt;()
+ *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new)));
+ * </pre>
+ * <p>
+ * If the primary attempt doesn't complete within the threshold (either fixed or tracked percentile of recent latencies), the same invocation is launched again;
+ * the first successful attempt wins and the other one is cancelled (with interruption). If the primary attempt fails before the threshold, no backup is launched.
+ * Tracked latencies include primary attempts cancelled in favour of the backup (with the time they took until cancelled), so slow tail keeps the percentile up.
+ * If all launched attempts fail, the first failure is thrown (with the others {@link Throwable#addSuppressed(Throwable) suppressed}),
+ * so it may be resolved by regular exception handling strategy.
+ * <p>
+ * NOTE: hedging performs invocations more than once, so it's only suitable for idempotent ones. Attempts are run with provided executor
+ * ({@link CheckedFutures#defaultExecutor() shared one} by default) while calling thread waits for the outcome; if it gets interrupted, all attempts
+ * are cancelled, the interruption status is restored and {@link CancellationException} is thrown.
+ */
+public final class Hedge implements Interceptor {
+
+    private final long delayNanos;
+    private final LatencyTracker tracker;
+    private final Executor executor;
+
+    private Hedge(long delayNanos, LatencyTracker tracker, Executor executor) {
+        this.delayNanos = delayNanos;
+        this.tracker = tracker;
+        this.executor = executor;
+    }
+
+    /**
+     * Create hedge that launches backup attempt once provided delay elapses.
+     *
+     * @param delay time after which backup attempt is launched
+     * @return {@link Hedge}
+     */
+    public static Hedge after(Duration delay) {
+        return new Hedge(delay.toNanos(), null, CheckedFutures.defaultExecutor());
+    }
+
+    /**
+     * Create hedge that launches backup attempt once the invocation takes longer than provided percentile of recently observed latencies.
+     *
+     * @param percentile   percentile of the latencies (between {@code 0} and {@code 1} exclusive), e.g. {@code 0.95}
+     * @param initialDelay delay used until enough latencies are observed
+     * @return {@link Hedge}
+     */
+    public static Hedge atPercentile(double percentile, Duration initialDelay) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1: " + percentile);
+        }
+        return new Hedge(initialDelay.toNanos(), new LatencyTracker(percentile, initialDelay.toNanos()), CheckedFutures.defaultExecutor());
+    }
+
+    /**
+     * Get hedge that runs attempts with provided executor.
+     *
+     * @param executor {@link Executor} used to run attempts
+     * @return {@link Hedge}
+     */
+    public Hedge using(Executor executor) {
+        return new Hedge(delayNanos, tracker, executor);
+    }
+
+    /**
+     * Get current threshold after which backup attempt is launched.
+     *
+     * @return the threshold
+     */
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos());
+    }
+
+    @Override
+    public <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+        CompletionService<R> completion = new ExecutorCompletionService<>(executor);
+        CheckedSupplier<R, X> propagated = Deadline.propagate(invocation);
+        List<Future<R>> attempts = new ArrayList<>(2);
+        long start = System.nanoTime();
+        try {
+            attempts.add(completion.submit(() -> attempt(propagated)));
+            Future<R> completed = completion.poll(thresholdNanos(), TimeUnit.NANOSECONDS);
+            if (completed == null) {
+                attempts.add(completion.submit(() -> attempt(propagated)));
+                completed = completion.take();
+            }
+            Exception failure = null;
+            for (int outcomes = 1; ; outcomes++) {
+                try {
+                    return completed.get();
+                } catch (ExecutionException ex) {
+                    failure = suppress(failure, ex.getCause());
+                }
+                if (outcomes == attempts.size()) {
+                    throw Failures.<X>propagate(failure);
+                }
+                completed = completion.take();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for hedged invocation");
+        } finally {
+            for (Future<R> attempt : attempts) {
+                attempt.cancel(true);
+            }
+            if (tracker != null && attempts.size() > 1 && attempts.get(0).isCancelled()) {
+                tracker.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private <R> R attempt(CheckedSupplier<? extends R, ?> invocation) throws Exception {
+        long start = System.nanoTime();
+        R result = invocation.getWithException();
+        if (tracker != null) {
+            tracker.record(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private long thresholdNanos() {
+        return tracker == null ? delayNanos : tracker.percentile();
+    }
+
+    private static Exception suppress(Exception failure, Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (failure == null) {
+            return (Exception) cause;
+        }
+        failure.addSuppressed(cause);
+        return failure;
+    }
+
+    /**
+     * Lock-free reservoir of recent latencies with periodically recomputed percentile.
+     */
+    private static final class LatencyTracker {
+
+        private static final int SAMPLES = 128;
+        private static final int RECOMPUTE_INTERVAL = 16;
+
+        private final double percentile;
+        private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+        private final AtomicLong recorded = new AtomicLong();
+        private volatile long percentileNanos;
+
+        private LatencyTracker(double percentile, long initialNanos) {
+            this.percentile = percentile;
+            this.percentileNanos = initialNanos;
+        }
+
+        private void record(long latencyNanos) {
+            long index = recorded.getAndIncrement();
+            samples.set((int) (index % SAMPLES), latencyNanos);
+            if (index >= RECOMPUTE_INTERVAL - 1 && (index + 1) % RECOMPUTE_INTERVAL == 0) {
+                int size = (int) Math.min(index + 1, SAMPLES);
+                long[] snapshot = new long[size];
+                for (int i = 0; i < size; i++) {
+                    snapshot[i] = samples.get(i);
+                }
+                Arrays.sort(snapshot);
+                percentileNanos = snapshot[(int) Math.min(size - 1, Math.ceil(percentile * size) - 1)];
+            }
+        }
+
+        private long percentile() {
+            return percentileNanos;
+        }
+
+    }
+
+}
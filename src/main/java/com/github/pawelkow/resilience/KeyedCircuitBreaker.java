@@ -0,0 +1,184 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.function.CheckedFunction;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * Set of {@link CircuitBreaker circuit breakers} maintained separately for every key derived from the input of {@link CheckedFunction}, e.g.
+ *
+ * <pre>
+ *  KeyedCircuitBreaker&lt;Request&gt; breakers = CircuitBreaker.inCaseOf(IOException.class)
+ *          .openDuration(Duration.ofSeconds(30))
+ *          .perKey(Request::getTenant)
+ *          .maximumKeys(10_000)
+ *          .build();
+ *
+ *  requests.stream().map(breakers.decorate(wrap(this::send)).handleException(new ReferenceHandler&lt;Response&gt;()
+ *          .inCaseOf(CallNotPermittedException.class).supplyValue(Response::unavailable)
+ *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new)));
+ * </pre>
+ * <p>
+ * Failing keys (e.g. tenant, shard or file path) are short-circuited while the healthy ones are not affected. Breakers are created on first use
+ * with the configuration of the originating {@link CircuitBreaker.Builder builder}.
+ * <p>
+ * NOTE: to keep memory bounded, breakers are kept in a fixed number of stripes, each evicting its least recently used key once full; an evicted key
+ * simply starts over with a new closed breaker. Breakers that are still {@link CircuitBreaker.State#OPEN open} are never evicted, so a stripe may
+ * temporarily hold more keys than its share while they reject invocations. Only the stripe owning the key is locked while looking the breaker up, never
+ * while invoking the function.
+ */
+public final class KeyedCircuitBreaker<T> {
+
+    private final CircuitBreaker template;
+    private final Function<? super T, ?> keyExtractor;
+    private final Stripe[] stripes;
+
+    private KeyedCircuitBreaker(Builder<T> builder) {
+        this.template = builder.template;
+        this.keyExtractor = builder.keyExtractor;
+        this.stripes = new Stripe[Math.min(builder.stripes, Integer.highestOneBit(builder.maximumKeys))];
+        int stripeCapacity = builder.maximumKeys / stripes.length;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Get breaker responsible for provided input.
+     *
+     * @param input the input of decorated function
+     * @return {@link CircuitBreaker} for the key derived from the input
+     */
+    public CircuitBreaker breakerFor(T input) {
+        Object key = keyExtractor.apply(input);
+        int hash = key == null ? 0 : key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        synchronized (stripe) {
+            CircuitBreaker breaker = stripe.get(key);
+            if (breaker == null) {
+                breaker = template.copy();
+                stripe.evictIfFull();
+                stripe.put(key, breaker);
+            }
+            return breaker;
+        }
+    }
+
+    /**
+     * Get the number of keys currently tracked.
+     *
+     * @return the number of breakers held
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get function guarded by the breaker of the key derived from each input.
+     *
+     * @param function {@link CheckedFunction} to be guarded
+     * @param <R>      the type of the result of the function
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return {@link CheckedFunction} rejecting invocations for keys with open breaker with {@link CallNotPermittedException}
+     */
+    public <R, X extends Exception> CheckedFunction<T, R, X> decorate(CheckedFunction<? super T, ? extends R, ? extends X> function) {
+        return t -> breakerFor(t).<R, X>intercept(() -> function.applyWithException(t));
+    }
+
+    /**
+     * Access ordered map of breakers evicting least recently used key that is not open once full.
+     */
+    private static final class Stripe extends LinkedHashMap<Object, CircuitBreaker> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * Make room for a new breaker by evicting least recently used one that is not open.
+         */
+        private void evictIfFull() {
+            if (size() < capacity) {
+                return;
+            }
+            Iterator<CircuitBreaker> breakers = values().iterator();
+            while (breakers.hasNext()) {
+                if (breakers.next().getState() != CircuitBreaker.State.OPEN) {
+                    breakers.remove();
+                    return;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Builder of {@link KeyedCircuitBreaker}.
+     *
+     * @param <T> the type of the input
+     */
+    public static final class Builder<T> {
+
+        private final CircuitBreaker template;
+        private final Function<? super T, ?> keyExtractor;
+        private int maximumKeys = 1 << 14;
+        private int stripes = 16;
+
+        Builder(CircuitBreaker template, Function<? super T, ?> keyExtractor) {
+            this.template = template;
+            this.keyExtractor = keyExtractor;
+        }
+
+        /**
+         * Configure the maximum number of keys tracked at the same time (16384 by default).
+         *
+         * @param maximumKeys the maximum number of breakers held
+         * @return this builder
+         */
+        public Builder<T> maximumKeys(int maximumKeys) {
+            if (maximumKeys <= 0) {
+                throw new IllegalArgumentException("Maximum keys must be positive: " + maximumKeys);
+            }
+            this.maximumKeys = maximumKeys;
+            return this;
+        }
+
+        /**
+         * Configure the number of independently locked stripes (16 by default, rounded up to a power of two).
+         *
+         * @param stripes the number of stripes
+         * @return this builder
+         */
+        public Builder<T> stripes(int stripes) {
+            if (stripes <= 0 || stripes > 1 << 16) {
+                throw new IllegalArgumentException("Stripes must be between 1 and 65536: " + stripes);
+            }
+            this.stripes = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+            return this;
+        }
+
+        /**
+         * Build configured set of breakers (initially empty).
+         *
+         * @return {@link KeyedCircuitBreaker}
+         */
+        public KeyedCircuitBreaker<T> build() {
+            return new KeyedCircuitBreaker<>(this);
+        }
+
+    }
+
+}
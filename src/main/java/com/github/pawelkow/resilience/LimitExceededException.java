@@ -0,0 +1,18 @@
+package com.github.pawelkow.resilience;
+
+/**
+ * Thrown when {@link AdaptiveLimiter} sheds the invocation because its current concurrency limit has been reached.
+ */
+public class LimitExceededException extends CallNotPermittedException {
+
+    /**
+     * Used to construct new exception.
+     *
+     * @param message the detail message
+     * @param limiter {@link AdaptiveLimiter} that rejected the invocation
+     */
+    public LimitExceededException(String message, AdaptiveLimiter limiter) {
+        super(message, limiter);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.pawelkow.resilience;
+
+/**
+ * Thrown when {@link RateLimiter} rejects the invocation because the rate has been exceeded.
+ */
+public class RateLimitExceededException extends CallNotPermittedException {
+
+    /**
+     * Used to construct new exception.
+     *
+     * @param message     the detail message
+     * @param rateLimiter {@link RateLimiter} that rejected the invocation
+     */
+    public RateLimitExceededException(String message, RateLimiter rateLimiter) {
+        super(message, rateLimiter);
+    }
+
+}
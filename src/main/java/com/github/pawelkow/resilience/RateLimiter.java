@@ -0,0 +1,164 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Interceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Interceptor} that limits the rate of invocations, e.g.
+ *
+ * <pre>
+ *  RateLimiter limiter = RateLimiter.permits(100, Duration.ofSeconds(1))
+ *          .burst(10)
+ *          .maxWait(Duration.ofMillis(100))
+ *          .build();
+ *
+ *  ids.stream().map(wrap(this::fetch).interceptWith(limiter).handleException(new ReferenceHandler&lt;String&gt;()
+ *          .inCaseOf(RateLimitExceededException.class).returnValue("throttled")
+ *          .inCaseOf(IOException.class).rethrow(UncheckedIOException::new)));
+ * </pre>
+ * <p>
+ * Invocations that would exceed the rate wait for their turn up to configured time (by default they don't wait at all) and otherwise are rejected
+ * with {@link RateLimitExceededException}, so they may be resolved by regular exception handling strategy.
+ * <p>
+ * The limiter implements <i>generic cell rate algorithm</i> (equivalent of a token bucket), so its whole state is a single theoretical arrival time
+ * updated with compare-and-set. Waiting invocations reserve their turn up front and then {@link TimeUnit#sleep(long) sleep} without holding any monitor,
+ * which lets virtual threads unmount while waiting. If the thread gets interrupted while waiting, the invocation is rejected and the interruption status
+ * is restored.
+ */
+public final class RateLimiter implements Interceptor {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long maxWaitNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    private RateLimiter(Builder builder) {
+        this.emissionIntervalNanos = Math.max(1, builder.period.toNanos() / builder.permits);
+        this.burstToleranceNanos = emissionIntervalNanos * (builder.burst - 1);
+        this.maxWaitNanos = builder.maxWait.toNanos();
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Get builder of limiter allowing provided number of invocations per period.
+     *
+     * @param permits the number of invocations allowed within the period
+     * @param period  the period of time
+     * @return {@link Builder}
+     */
+    public static Builder permits(int permits, Duration period) {
+        return new Builder(permits, period);
+    }
+
+    @Override
+    public <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+        long delay = reserve();
+        if (delay > 0) {
+            pause(delay);
+        }
+        return invocation.getWithException();
+    }
+
+    /**
+     * Try to reserve permission for a single invocation without waiting.
+     *
+     * @return {@code true} if the invocation is permitted right now, otherwise {@code false}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalTime.get();
+            long start = tat - now < 0 ? now : tat;
+            if (start - burstToleranceNanos - now > 0) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    private long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalTime.get();
+            long start = tat - now < 0 ? now : tat;
+            long delay = start - burstToleranceNanos - now;
+            if (delay > maxWaitNanos) {
+                throw new RateLimitExceededException("Rate limit exceeded", this);
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return delay;
+            }
+        }
+    }
+
+    private void pause(long delay) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException("Interrupted while waiting for rate limit", this);
+        }
+    }
+
+    /**
+     * Builder of {@link RateLimiter}.
+     */
+    public static final class Builder {
+
+        private final int permits;
+        private final Duration period;
+        private int burst;
+        private Duration maxWait = Duration.ZERO;
+
+        private Builder(int permits, Duration period) {
+            if (permits <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Invalid rate: " + permits + " per " + period);
+            }
+            this.permits = permits;
+            this.period = period;
+            this.burst = permits;
+        }
+
+        /**
+         * Configure the number of invocations that may be performed at once after a period of inactivity (equal to the permits by default).
+         *
+         * @param burst the size of the burst
+         * @return this builder
+         */
+        public Builder burst(int burst) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("Burst must be positive: " + burst);
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Configure how long invocations wait for their turn before they are rejected (no waiting by default).
+         *
+         * @param maxWait the maximum time spent waiting
+         * @return this builder
+         */
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Build configured limiter (with full burst available).
+         *
+         * @return {@link RateLimiter}
+         */
+        public RateLimiter build() {
+            return new RateLimiter(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.concurrent.Deadline;
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.function.Failures;
+import com.github.pawelkow.function.Interceptor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link Interceptor} that re-invokes failed invocations for configured exception types, e.g.
+ *
+ * <pre>
+ *  wrap(this::download)
+ *          .interceptWith(Retry.inCaseOf(SocketTimeoutException.class)
+ *                  .times(5)
+ *                  .backoff(Backoff.exponential(Duration.ofMillis(10), 2, Duration.ofSeconds(1)).withJitter(0.2)))
+ *          .handleException(new ReferenceHandler&lt;String&gt;()
+ *                  .inCaseOf(SocketTimeoutException.class).returnValue("timed out")
+ *                  .inCaseOf(IOException.class).rethrow(UncheckedIOException::new));
+ * </pre>
+ * <p>
+ * Once attempts run out (or the failure is not retryable) the last exception is thrown as is, so it may still be resolved by regular exception handling strategy.
+ * Successful invocations are not affected in any way.
+ * <p>
+ * NOTE: intercepted invocations wait with {@link Thread#sleep(long)}; if the thread gets interrupted while waiting, retrying stops and the interruption status
+ * is restored. Retrying also stops if the next attempt would start after the {@link Deadline} of the current context. To retry without blocking threads
+ * use {@link #supplyAsync(CheckedSupplier, ScheduledExecutorService) asynchronous mode} instead.
+ */
+public final class Retry implements Interceptor {
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+    private final Predicate<Throwable> retryable;
+    private final int maxAttempts;
+    private final Backoff backoff;
+
+    private Retry(Predicate<Throwable> retryable, int maxAttempts, Backoff backoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive: " + maxAttempts);
+        }
+        this.retryable = retryable;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Create retry for collection of exception types (3 attempts without backoff, unless configured otherwise).
+     *
+     * @param exceptionTypes collection of the exception types that should be retried
+     * @return {@link Retry}
+     */
+    public static Retry inCaseOf(Collection<? extends Class<? extends Throwable>> exceptionTypes) {
+        return new Retry(Failures.anyOf(exceptionTypes), DEFAULT_MAX_ATTEMPTS, Backoff.none());
+    }
+
+    /**
+     * Create retry for collection of exception types (3 attempts without backoff, unless configured otherwise).
+     *
+     * @param exceptionTypes collection of the exception types that should be retried
+     * @return {@link Retry}
+     */
+    @SafeVarargs
+    public static Retry inCaseOf(Class<? extends Throwable>... exceptionTypes) {
+        return inCaseOf(Arrays.asList(exceptionTypes));
+    }
+
+    /**
+     * Create retry for any {@link Exception} (3 attempts without backoff, unless configured otherwise).
+     *
+     * @return {@link Retry}
+     */
+    public static Retry inAnyCase() {
+        return inCaseOf(Exception.class);
+    }
+
+    /**
+     * Get retry limited to provided number of attempts.
+     *
+     * @param maxAttempts the maximum number of attempts (including the first one)
+     * @return {@link Retry}
+     */
+    public Retry times(int maxAttempts) {
+        return new Retry(retryable, maxAttempts, backoff);
+    }
+
+    /**
+     * Get retry that waits between attempts according to provided backoff.
+     *
+     * @param backoff {@link Backoff} strategy
+     * @return {@link Retry}
+     */
+    public Retry backoff(Backoff backoff) {
+        return new Retry(retryable, maxAttempts, backoff);
+    }
+
+    /**
+     * Verify if provided failure may be retried.
+     *
+     * @param failure exception thrown by the invocation
+     * @return {@code true} if the failure is retryable, otherwise {@code false}
+     */
+    public boolean isRetryable(Throwable failure) {
+        return retryable.test(failure);
+    }
+
+    /**
+     * Get the maximum number of attempts.
+     *
+     * @return the maximum number of attempts (including the first one)
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Get backoff strategy used between attempts.
+     *
+     * @return {@link Backoff}
+     */
+    public Backoff getBackoff() {
+        return backoff;
+    }
+
+    @Override
+    public <R, X extends Exception> R intercept(CheckedSupplier<? extends R, ? extends X> invocation) throws X {
+        try {
+            return invocation.getWithException();
+        } catch (Exception failure) {
+            return retry(invocation, failure);
+        }
+    }
+
+    /**
+     * Get a result asynchronously, retrying failed attempts without blocking any thread while waiting between them.
+     * <p>
+     * Every attempt is run by provided scheduler, subsequent ones are scheduled according to the backoff strategy. Once attempts run out
+     * (or the failure is not retryable), returned future is completed exceptionally with the last exception as is. Completing the future
+     * (e.g. cancelling it) prevents any further attempts.
+     * <p>
+     * The {@link Deadline} of the calling context is propagated to every attempt and, just like in synchronous mode, no attempt is scheduled
+     * to start after it.
+     *
+     * @param supplier  {@link CheckedSupplier} to be invoked
+     * @param scheduler {@link ScheduledExecutorService} used to run and schedule attempts
+     * @param <R>       the type of results supplied by the supplier
+     * @return {@link CompletableFuture} of the result
+     */
+    public <R> CompletableFuture<R> supplyAsync(CheckedSupplier<? extends R, ?> supplier, ScheduledExecutorService scheduler) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        long remaining = Deadline.remainingNanos();
+        long deadlineNanos = remaining == Long.MAX_VALUE ? NO_DEADLINE : System.nanoTime() + remaining;
+        schedule(Deadline.propagate(supplier), scheduler, future, deadlineNanos, 1, 0);
+        return future;
+    }
+
+    /**
+     * Get asynchronous version of provided function, retrying failed attempts without blocking any thread while waiting between them.
+     *
+     * @param function  {@link CheckedFunction} to be invoked
+     * @param scheduler {@link ScheduledExecutorService} used to run and schedule attempts
+     * @param <T>       the type of the input to the function
+     * @param <R>       the type of the result of the function
+     * @return {@link Function} providing {@link CompletableFuture} of the result
+     * @see #supplyAsync(CheckedSupplier, ScheduledExecutorService)
+     */
+    public <T, R> Function<T, CompletableFuture<R>> applyAsync(CheckedFunction<? super T, ? extends R, ?> function, ScheduledExecutorService scheduler) {
+        return t -> supplyAsync(() -> function.applyWithException(t), scheduler);
+    }
+
+    private <R> void schedule(CheckedSupplier<? extends R, ?> supplier, ScheduledExecutorService scheduler, CompletableFuture<R> future,
+                              long deadlineNanos, int attempt, long delay) {
+        Runnable task = () -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(supplier.getWithException());
+            } catch (Throwable failure) {
+                long nextDelay = backoff.delayNanos(attempt);
+                if (attempt < maxAttempts && isRetryable(failure) && (deadlineNanos == NO_DEADLINE || nextDelay < deadlineNanos - System.nanoTime())) {
+                    schedule(supplier, scheduler, future, deadlineNanos, attempt + 1, nextDelay);
+                } else {
+                    future.completeExceptionally(failure);
+                }
+            }
+        };
+        try {
+            if (delay > 0) {
+                scheduler.schedule(task, delay, TimeUnit.NANOSECONDS);
+            } else {
+                scheduler.execute(task);
+            }
+        } catch (RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+        }
+    }
+
+    private <R, X extends Exception> R retry(CheckedSupplier<? extends R, ? extends X> invocation, Exception failure) throws X {
+        Exception lastFailure = failure;
+        for (int attempt = 1; attempt < maxAttempts && isRetryable(lastFailure) && pause(attempt); attempt++) {
+            try {
+                return invocation.getWithException();
+            } catch (Exception ex) {
+                lastFailure = ex;
+            }
+        }
+        throw Failures.<X>propagate(lastFailure);
+    }
+
+    private boolean pause(int retry) {
+        long delay = backoff.delayNanos(retry);
+        if (delay >= Deadline.remainingNanos()) {
+            return false;
+        }
+        if (delay <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Interceptors that make invocations of checked functional interfaces resilient to failures of their dependencies.
+ */
+package com.github.pawelkow.resilience;
@@ -0,0 +1,198 @@
+package com.github.pawelkow.stream;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.exception.resolver.ReferenceResolver;
+import com.github.pawelkow.function.Checked;
+import com.github.pawelkow.function.CheckedBooleanSupplier;
+import com.github.pawelkow.function.CheckedSupplier;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Spliterator} backed by a pair of throwing {@code hasNext}/{@code next} operations, e.g. record readers, cursors or decoders.
+ * <p>
+ * Similarly to {@link Spliterators.AbstractSpliterator} it supports splitting by copying batches of elements (of arithmetically growing size)
+ * into an array, which makes it possible to process sequential sources in parallel.
+ * <p>
+ * Exceptions thrown by either operation are resolved by provided {@link ReferenceResolver}:
+ * <ul>
+ *     <li>resolved value (if not {@code null}) is provided as the next element, {@code null} simply skips the failed element</li>
+ *     <li>failure of {@code hasNext} additionally ends the traversal, since it's no longer possible to tell if there are more elements</li>
+ * </ul>
+ *
+ * @param <T> the type of elements returned by this spliterator
+ * @param <X> {@link Exception exception} type that is supported
+ */
+public final class CheckedSpliterator<T, X extends Exception> implements Spliterator<T> {
+
+    /**
+     * Default increment of the batch size used for splitting.
+     */
+    public static final int DEFAULT_BATCH_UNIT = 1 << 10;
+
+    private static final int MAX_BATCH = 1 << 25;
+
+    private final CheckedBooleanSupplier<? extends X> hasNext;
+    private final CheckedSupplier<? extends T, ? extends X> next;
+    private final ReferenceResolver<? extends T> resolver;
+    private final int characteristics;
+    private final int batchUnit;
+    private int batch;
+    private boolean exhausted;
+
+    private CheckedSpliterator(CheckedBooleanSupplier<? extends X> hasNext, CheckedSupplier<? extends T, ? extends X> next,
+                               ReferenceResolver<? extends T> resolver, int characteristics, int batchUnit) {
+        if (batchUnit <= 0) {
+            throw new IllegalArgumentException("Batch unit must be positive: " + batchUnit);
+        }
+        this.hasNext = hasNext;
+        this.next = next;
+        this.resolver = resolver;
+        this.characteristics = characteristics | ORDERED | NONNULL;
+        this.batchUnit = batchUnit;
+    }
+
+    /**
+     * Create spliterator over throwing source, any exception will be rethrown based on {@link Checked#RETHROW_UNCHECKED default strategy}.
+     *
+     * @param hasNext {@link CheckedBooleanSupplier} verifying if there are more elements
+     * @param next    {@link CheckedSupplier} providing the next element
+     * @param <T>     the type of elements returned by this spliterator
+     * @param <X>     {@link Exception exception} type that is supported
+     * @return {@link CheckedSpliterator}
+     */
+    public static <T, X extends Exception> CheckedSpliterator<T, X> of(CheckedBooleanSupplier<? extends X> hasNext,
+                                                                      CheckedSupplier<? extends T, ? extends X> next) {
+        return of(hasNext, next, new ReferenceHandler<T>().inCaseOf(Exception.class).handle(Checked.RETHROW_UNCHECKED).discard());
+    }
+
+    /**
+     * Create spliterator over throwing source.
+     *
+     * @param hasNext  {@link CheckedBooleanSupplier} verifying if there are more elements
+     * @param next     {@link CheckedSupplier} providing the next element
+     * @param resolver {@link ReferenceResolver exception resolver} applied to failures of the source
+     * @param <T>      the type of elements returned by this spliterator
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return {@link CheckedSpliterator}
+     */
+    public static <T, X extends Exception> CheckedSpliterator<T, X> of(CheckedBooleanSupplier<? extends X> hasNext,
+                                                                      CheckedSupplier<? extends T, ? extends X> next,
+                                                                      ReferenceResolver<? extends T> resolver) {
+        return of(hasNext, next, resolver, 0, DEFAULT_BATCH_UNIT);
+    }
+
+    /**
+     * Create spliterator over throwing source.
+     *
+     * @param hasNext         {@link CheckedBooleanSupplier} verifying if there are more elements
+     * @param next            {@link CheckedSupplier} providing the next element
+     * @param resolver        {@link ReferenceResolver exception resolver} applied to failures of the source
+     * @param characteristics additional {@link Spliterator} characteristics of the source ({@link #ORDERED} and {@link #NONNULL} are always reported)
+     * @param batchUnit       increment of the batch size used for splitting
+     * @param <T>             the type of elements returned by this spliterator
+     * @param <X>             {@link Exception exception} type that is supported
+     * @return {@link CheckedSpliterator}
+     */
+    public static <T, X extends Exception> CheckedSpliterator<T, X> of(CheckedBooleanSupplier<? extends X> hasNext,
+                                                                      CheckedSupplier<? extends T, ? extends X> next,
+                                                                      ReferenceResolver<? extends T> resolver,
+                                                                      int characteristics, int batchUnit) {
+        return new CheckedSpliterator<>(hasNext, next, resolver, characteristics, batchUnit);
+    }
+
+    /**
+     * Create stream over throwing source.
+     *
+     * @param hasNext  {@link CheckedBooleanSupplier} verifying if there are more elements
+     * @param next     {@link CheckedSupplier} providing the next element
+     * @param resolver {@link ReferenceResolver exception resolver} applied to failures of the source
+     * @param parallel if {@code true} then the returned stream is a parallel stream
+     * @param <T>      the type of stream elements
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return {@link Stream} of elements provided by the source
+     */
+    public static <T, X extends Exception> Stream<T> stream(CheckedBooleanSupplier<? extends X> hasNext,
+                                                            CheckedSupplier<? extends T, ? extends X> next,
+                                                            ReferenceResolver<? extends T> resolver,
+                                                            boolean parallel) {
+        return StreamSupport.stream(of(hasNext, next, resolver), parallel);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (!exhausted) {
+            T element = nextElement();
+            if (element != null) {
+                action.accept(element);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (!exhausted) {
+            T element = nextElement();
+            if (element != null) {
+                action.accept(element);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int size = Math.min(batch + batchUnit, MAX_BATCH);
+        Object[] elements = new Object[size];
+        int count = 0;
+        while (count < size && !exhausted) {
+            T element = nextElement();
+            if (element != null) {
+                elements[count++] = element;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        batch = count;
+        return Spliterators.spliterator(elements, 0, count, characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return exhausted ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    /**
+     * Pull next element from the source, resolving any failure.
+     *
+     * @return next element or {@code null} if the element should be skipped
+     */
+    private T nextElement() {
+        try {
+            if (!hasNext.getAsBooleanWithException()) {
+                exhausted = true;
+                return null;
+            }
+        } catch (Exception exception) {
+            exhausted = true;
+            return resolver.resolve(exception);
+        }
+        try {
+            return next.getWithException();
+        } catch (Exception exception) {
+            return resolver.resolve(exception);
+        }
+    }
+
+}
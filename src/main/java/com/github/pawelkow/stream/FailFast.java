@@ -0,0 +1,271 @@
+package com.github.pawelkow.stream;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.exception.handler.VoidHandler;
+import com.github.pawelkow.exception.resolver.ReferenceResolver;
+import com.github.pawelkow.exception.resolver.VoidResolver;
+import com.github.pawelkow.function.Checked;
+import com.github.pawelkow.function.CheckedConsumer;
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.Failures;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Execution mode for bulk operations that aborts the whole (possibly parallel) pipeline as soon as any element fails with one of configured <strong>fatal</strong>
+ * exception types, e.g.
+ *
+ * <pre>
+ *  List&lt;Config&gt; configs = FailFast.on(IOException.class)
+ *          .map(paths.parallelStream(), this::parseConfig);
+ * </pre>
+ * <p>
+ * Once a fatal failure is recorded, every split of the pipeline stops taking new elements (the check is a single volatile read per element)
+ * and the first failure is rethrown to the caller as is. Exceptions that are not considered fatal are resolved per element with provided resolver.
+ */
+public final class FailFast {
+
+    private final Predicate<Throwable> fatal;
+
+    private FailFast(Collection<Class<? extends Exception>> fatalTypes) {
+        this.fatal = Failures.anyOf(fatalTypes);
+    }
+
+    /**
+     * Create fail-fast execution mode that treats every exception as fatal.
+     *
+     * @return {@link FailFast} execution mode
+     */
+    public static FailFast onAnyException() {
+        return new FailFast(Collections.singletonList(Exception.class));
+    }
+
+    /**
+     * Create fail-fast execution mode that treats selected exception types as fatal.
+     *
+     * @param fatalTypes the types of exceptions that should abort the pipeline
+     * @return {@link FailFast} execution mode
+     */
+    @SafeVarargs
+    public static FailFast on(Class<? extends Exception>... fatalTypes) {
+        return new FailFast(Arrays.asList(fatalTypes));
+    }
+
+    /**
+     * Apply the function to every element of the stream and collect results in encounter order.
+     * <p>
+     * Exceptions that are not fatal will be rethrown based on {@link Checked#RETHROW_UNCHECKED default strategy}.
+     *
+     * @param source   {@link Stream} of elements to be transformed
+     * @param function {@link CheckedFunction} applied to every element
+     * @param <T>      the type of the input to the function
+     * @param <R>      the type of the result of the function
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return {@link List} of results
+     * @throws X first fatal failure encountered by any of the splits
+     */
+    public <T, R, X extends Exception> List<R> map(Stream<? extends T> source, CheckedFunction<? super T, ? extends R, ? extends X> function) throws X {
+        return map(source, function, new ReferenceHandler<R>().inCaseOf(Exception.class).handle(Checked.RETHROW_UNCHECKED).discard());
+    }
+
+    /**
+     * Apply the function to every element of the stream and collect results in encounter order.
+     *
+     * @param source   {@link Stream} of elements to be transformed
+     * @param function {@link CheckedFunction} applied to every element
+     * @param resolver {@link ReferenceResolver exception resolver} used for exceptions that are not fatal
+     * @param <T>      the type of the input to the function
+     * @param <R>      the type of the result of the function
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return {@link List} of results
+     * @throws X first fatal failure encountered by any of the splits
+     */
+    public <T, R, X extends Exception> List<R> map(Stream<? extends T> source, CheckedFunction<? super T, ? extends R, ? extends X> function,
+                                                   ReferenceResolver<? extends R> resolver) throws X {
+        Execution execution = new Execution();
+        Function<T, R> mapper = CheckedFunction.<T, R, X>wrap(function).handleException(new ReferenceResolver<R>() {
+            @Override
+            public boolean isSupported(Throwable exception) {
+                return fatal.test(exception) || resolver.isSupported(exception);
+            }
+
+            @Override
+            public R resolve(Throwable exception) {
+                if (fatal.test(exception)) {
+                    execution.fail((Exception) exception);
+                    return null;
+                }
+                return resolver.resolve(exception);
+            }
+        });
+        List<R> results = execution.run(source, mapper::apply)
+                .collect(Collectors.toList());
+        execution.<X>rethrowFailure();
+        return results;
+    }
+
+    /**
+     * Apply the function to every element of the collection using its {@link Collection#parallelStream() parallel stream}.
+     *
+     * @param source   {@link Collection} of elements to be transformed
+     * @param function {@link CheckedFunction} applied to every element
+     * @param <T>      the type of the input to the function
+     * @param <R>      the type of the result of the function
+     * @param <X>      {@link Exception exception} type that is supported
+     * @return {@link List} of results
+     * @throws X first fatal failure encountered by any of the splits
+     * @see #map(Stream, CheckedFunction)
+     */
+    public <T, R, X extends Exception> List<R> map(Collection<? extends T> source, CheckedFunction<? super T, ? extends R, ? extends X> function) throws X {
+        return map(source.parallelStream(), function);
+    }
+
+    /**
+     * Perform the operation on every element of the stream.
+     * <p>
+     * Exceptions that are not fatal will be rethrown based on {@link Checked#RETHROW_UNCHECKED default strategy}.
+     *
+     * @param source   {@link Stream} of elements to be consumed
+     * @param consumer {@link CheckedConsumer} performed on every element
+     * @param <T>      the type of the input to the operation
+     * @param <X>      {@link Exception exception} type that is supported
+     * @throws X first fatal failure encountered by any of the splits
+     */
+    public <T, X extends Exception> void forEach(Stream<? extends T> source, CheckedConsumer<? super T, ? extends X> consumer) throws X {
+        forEach(source, consumer, new VoidHandler().inCaseOf(Exception.class).handle(Checked.RETHROW_UNCHECKED).discard());
+    }
+
+    /**
+     * Perform the operation on every element of the stream.
+     *
+     * @param source   {@link Stream} of elements to be consumed
+     * @param consumer {@link CheckedConsumer} performed on every element
+     * @param resolver {@link VoidResolver exception resolver} used for exceptions that are not fatal
+     * @param <T>      the type of the input to the operation
+     * @param <X>      {@link Exception exception} type that is supported
+     * @throws X first fatal failure encountered by any of the splits
+     */
+    public <T, X extends Exception> void forEach(Stream<? extends T> source, CheckedConsumer<? super T, ? extends X> consumer, VoidResolver resolver) throws X {
+        Execution execution = new Execution();
+        Consumer<T> action = CheckedConsumer.<T, X>wrap(consumer).handleException(new VoidResolver() {
+            @Override
+            public boolean isSupported(Throwable exception) {
+                return fatal.test(exception) || resolver.isSupported(exception);
+            }
+
+            @Override
+            public void resolve(Throwable exception) {
+                if (fatal.test(exception)) {
+                    execution.fail((Exception) exception);
+                } else {
+                    resolver.resolve(exception);
+                }
+            }
+        });
+        execution.run(source, t -> {
+            action.accept(t);
+            return null;
+        }).forEach(ignored -> {
+        });
+        execution.<X>rethrowFailure();
+    }
+
+    /**
+     * State shared by all splits of a single bulk operation.
+     */
+    private static final class Execution {
+
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        <T, R> Stream<R> run(Stream<? extends T> source, Function<? super T, ? extends R> mapper) {
+            return StreamSupport.stream(new CancellableSpliterator<T>(source.spliterator()), source.isParallel())
+                    .map(t -> {
+                        try {
+                            return mapper.apply(t);
+                        } catch (RuntimeException | Error ex) {
+                            cancelled = true;
+                            throw ex;
+                        }
+                    });
+        }
+
+        void fail(Exception exception) {
+            failure.compareAndSet(null, exception);
+            cancelled = true;
+        }
+
+        <X extends Exception> void rethrowFailure() throws X {
+            Exception exception = failure.get();
+            if (exception != null) {
+                throw Failures.<X>propagate(exception);
+            }
+        }
+
+        /**
+         * {@link Spliterator} that stops providing elements (and splitting) once the execution is cancelled.
+         * <p>
+         * NOTE: size related characteristics are dropped since the number of elements is no longer guaranteed.
+         */
+        private final class CancellableSpliterator<T> implements Spliterator<T> {
+
+            private final Spliterator<? extends T> delegate;
+
+            private CancellableSpliterator(Spliterator<? extends T> delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                return !cancelled && delegate.tryAdvance(action);
+            }
+
+            @Override
+            public void forEachRemaining(Consumer<? super T> action) {
+                while (tryAdvance(action)) {
+                    //keep on consuming until cancelled or exhausted
+                }
+            }
+
+            @Override
+            public Spliterator<T> trySplit() {
+                if (cancelled) {
+                    return null;
+                }
+                Spliterator<? extends T> split = delegate.trySplit();
+                return split == null ? null : new CancellableSpliterator<>(split);
+            }
+
+            @Override
+            public long estimateSize() {
+                return cancelled ? 0 : delegate.estimateSize();
+            }
+
+            @Override
+            public int characteristics() {
+                return delegate.characteristics() & ~(SIZED | SUBSIZED);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Comparator<? super T> getComparator() {
+                return (Comparator<? super T>) delegate.getComparator();
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Utilities for applying checked functional interfaces to streams and other bulk sources.
+ */
+package com.github.pawelkow.stream;
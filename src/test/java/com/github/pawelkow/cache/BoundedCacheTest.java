@@ -0,0 +1,166 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.function.CheckedBiFunction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void givenFullLruCacheWhenStoringThenLeastRecentlyUsedEntryIsEvicted() {
+        //given
+        BoundedCache<String, Integer> cache = CacheSpec.maximumSize(2).build();
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.getIfPresent("a");
+
+        //when
+        cache.put("c", 3);
+
+        //then
+        assertEquals(Integer.valueOf(1), cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(Integer.valueOf(3), cache.getIfPresent("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void givenManyDistinctKeysWhenStoringThenSizeStaysBounded() {
+        //given
+        BoundedCache<Integer, Integer> cache = CacheSpec.maximumSize(100).evictionPolicy(EvictionPolicy.W_TINY_LFU).build();
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+        }
+
+        //then
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    public void givenFrequentlyUsedEntriesWhenScanningThenTinyLfuKeepsThem() {
+        //given
+        BoundedCache<Integer, Integer> cache = CacheSpec.maximumSize(200).evictionPolicy(EvictionPolicy.W_TINY_LFU).build();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                cache.get(i, key -> key);
+            }
+        }
+
+        //when
+        for (int i = 1_000; i < 2_000; i++) {
+            cache.get(i, key -> key);
+        }
+
+        //then
+        int retained = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.getIfPresent(i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 90, "retained " + retained);
+    }
+
+    @Test
+    public void givenTimeToLiveWhenItElapsesThenEntryExpires() throws InterruptedException {
+        //given
+        BoundedCache<String, String> cache = CacheSpec.maximumSize(10).expireAfterWrite(Duration.ofMillis(20)).build();
+        cache.put("key", "value");
+
+        //when
+        Thread.sleep(40);
+
+        //then
+        assertNull(cache.getIfPresent("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void givenNullValueWhenLoadingThenItsCached() {
+        //given
+        BoundedCache<String, String> cache = CacheSpec.maximumSize(10).softValues().build();
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        cache.get("key", key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        cache.get("key", key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        //then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void givenNullValueWithWeakValuesWhenCollectingGarbageThenItStaysCached() {
+        //given
+        BoundedCache<String, String> cache = CacheSpec.maximumSize(10).weakValues().build();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("key", key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        //when
+        System.gc();
+        cache.get("key", key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        //then
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void givenCollectedWeakValuesWhenStoringThenTheirEntriesAreRemoved() throws InterruptedException {
+        //given
+        BoundedCache<String, Object> cache = CacheSpec.maximumSize(100).weakValues().build();
+        for (int i = 0; i < 50; i++) {
+            cache.put("key " + i, new Object());
+        }
+
+        //when
+        for (int attempt = 0; attempt < 100 && cache.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            cache.put("trigger", "value");
+        }
+
+        //then
+        assertEquals(1, cache.size());
+        assertEquals("value", cache.getIfPresent("trigger"));
+    }
+
+    @Test
+    public void givenMemoizedBiFunctionWhenInvokedWithSamePairThenItsComputedOnce() {
+        //given
+        AtomicInteger invocations = new AtomicInteger();
+        CheckedBiFunction<Integer, Integer, Integer, RuntimeException> sum = (a, b) -> {
+            invocations.incrementAndGet();
+            return a + b;
+        };
+        CheckedBiFunction<Integer, Integer, Integer, RuntimeException> memoized = sum.memoize(CacheSpec.maximumSize(10).weakValues());
+
+        //when
+        memoized.apply(1, 2);
+        memoized.apply(1, 2);
+        int result = memoized.apply(2, 1);
+
+        //then
+        assertEquals(3, result);
+        assertEquals(2, invocations.get());
+    }
+
+}
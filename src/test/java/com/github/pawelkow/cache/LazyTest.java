@@ -0,0 +1,109 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyTest {
+
+    private final AtomicInteger computations = new AtomicInteger();
+
+    private String loadDangerously(int failures) throws IOException {
+        if (computations.incrementAndGet() <= failures) {
+            throw new IOException("Attempt " + computations.get());
+        }
+        return "loaded";
+    }
+
+    @Test
+    public void givenConcurrentCallersWhenGettingThenValueIsComputedOnce() throws Exception {
+        //given
+        CountDownLatch start = new CountDownLatch(1);
+        CheckedSupplier<String, Exception> lazy = CheckedSupplier.<String, Exception>wrap(() -> {
+            start.await(5, TimeUnit.SECONDS);
+            return loadDangerously(0);
+        }).lazy();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //when
+        CompletableFuture<?>[] callers = new CompletableFuture<?>[8];
+        for (int i = 0; i < callers.length; i++) {
+            callers[i] = CompletableFuture.supplyAsync(lazy, executor);
+        }
+        start.countDown();
+
+        //then
+        try {
+            CompletableFuture.allOf(callers).get(5, TimeUnit.SECONDS);
+            assertEquals("loaded", lazy.get());
+            assertEquals(1, computations.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void givenRetryPolicyWhenComputationFailsThenNextCallComputesAgain() {
+        //given
+        Lazy<String, IOException> lazy = Lazy.of(() -> loadDangerously(1));
+
+        //when
+        String first = lazy.returnFallback("FAILED").get();
+        String second = lazy.returnFallback("FAILED").get();
+
+        //then
+        assertEquals("FAILED", first);
+        assertEquals("loaded", second);
+        assertTrue(lazy.isInitialized());
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void givenCachedFailureWhenCallingWithinPeriodThenFailureIsRethrownWithoutComputing() throws InterruptedException {
+        //given
+        Lazy<String, IOException> lazy = Lazy.of(() -> loadDangerously(1), Lazy.FailurePolicy.cacheFor(Duration.ofMillis(30)));
+
+        //when
+        String first = lazy.returnFallback("FAILED").get();
+        String second = lazy.returnFallback("FAILED").get();
+        Thread.sleep(50);
+        String third = lazy.returnFallback("FAILED").get();
+
+        //then
+        assertEquals("FAILED", first);
+        assertEquals("FAILED", second);
+        assertEquals("loaded", third);
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void givenFallbackPolicyWhenComputationFailsThenResolvedValueIsSuppliedOnlyOnce() {
+        //given
+        Lazy<String, IOException> lazy = Lazy.of(() -> loadDangerously(1), Lazy.FailurePolicy.fallback(new ReferenceHandler<String>()
+                .inCaseOf(IOException.class).returnValue("DEFAULT")));
+
+        //when
+        String first = lazy.get();
+        boolean initializedByFallback = lazy.isInitialized();
+        String second = lazy.get();
+
+        //then
+        assertEquals("DEFAULT", first);
+        assertFalse(initializedByFallback);
+        assertEquals("loaded", second);
+        assertTrue(lazy.isInitialized());
+        assertEquals(2, computations.get());
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.exception.handler.BooleanHandler;
+import com.github.pawelkow.exception.handler.IntHandler;
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.function.CheckedPredicate;
+import com.github.pawelkow.function.CheckedToIntFunction;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import static com.github.pawelkow.function.CheckedFunction.wrap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NegativeCacheTest {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private String load(String path) throws IOException {
+        invocations.incrementAndGet();
+        if (path.startsWith("/missing")) {
+            throw new FileNotFoundException(path);
+        }
+        if (path.startsWith("/flaky")) {
+            throw new IOException("Transient failure");
+        }
+        return "content of " + path;
+    }
+
+    @Test
+    public void givenDeterministicFailureWhenInvokingAgainThenDelegateIsSkipped() {
+        //given
+        NegativeCache<String> cache = NegativeCache.inCaseOf(FileNotFoundException.class).build();
+        Function<String, String> function = cache.decorate(wrap(this::load)).returnFallback("NOT FOUND");
+
+        //when
+        String first = function.apply("/missing");
+        String second = function.apply("/missing");
+
+        //then
+        assertEquals("NOT FOUND", first);
+        assertEquals("NOT FOUND", second);
+        assertEquals(1, invocations.get());
+        assertTrue(cache.isRemembered("/missing"));
+        assertEquals("content of /present", function.apply("/present"));
+    }
+
+    @Test
+    public void givenRememberedInputWhenInvokingAgainThenFreshExceptionIsThrown() {
+        //given
+        NegativeCache<String> cache = NegativeCache.inCaseOf(FileNotFoundException.class).build();
+        List<Exception> failures = new ArrayList<>();
+        Function<String, String> function = cache.decorate(wrap(this::load)).handleException(new ReferenceHandler<String>()
+                .inCaseOf(FileNotFoundException.class).mapToValue(ex -> {
+                    failures.add(ex);
+                    return "NOT FOUND";
+                }));
+
+        //when
+        function.apply("/missing");
+        function.apply("/missing");
+        function.apply("/missing");
+
+        //then
+        assertEquals(1, invocations.get());
+        assertEquals(3, failures.size());
+        assertNotSame(failures.get(0), failures.get(1));
+        assertNotSame(failures.get(1), failures.get(2));
+        assertEquals(FileNotFoundException.class, failures.get(2).getClass());
+        assertEquals("/missing", failures.get(2).getMessage());
+    }
+
+    @Test
+    public void givenNotConfiguredFailureWhenInvokingAgainThenDelegateIsCalled() {
+        //given
+        NegativeCache<String> cache = NegativeCache.inCaseOf(FileNotFoundException.class).build();
+        Function<String, String> function = cache.decorate(wrap(this::load)).returnFallback("FAILED");
+
+        //when
+        function.apply("/flaky");
+        function.apply("/flaky");
+
+        //then
+        assertEquals(2, invocations.get());
+        assertFalse(cache.isRemembered("/flaky"));
+    }
+
+    @Test
+    public void givenExpirationWhenItElapsesThenInputIsForgotten() throws InterruptedException {
+        //given
+        NegativeCache<String> cache = NegativeCache.inCaseOf(FileNotFoundException.class).expireAfter(Duration.ofMillis(20)).build();
+        Function<String, String> function = cache.decorate(wrap(this::load)).returnFallback("NOT FOUND");
+        function.apply("/missing");
+
+        //when
+        Thread.sleep(40);
+        function.apply("/missing");
+
+        //then
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void givenRememberedInputWhenTestingPredicateThenItsResolvedWithPrimitiveHandler() {
+        //given
+        NegativeCache<String> cache = NegativeCache.inCaseOf(FileNotFoundException.class).build();
+        CheckedPredicate<String, IOException> exists = path -> !load(path).isEmpty();
+        Predicate<String> predicate = cache.decoratePredicate(exists)
+                .handleException(new BooleanHandler().inCaseOf(FileNotFoundException.class).returnBoolean(false));
+
+        //when
+        boolean first = predicate.test("/missing");
+        boolean second = predicate.test("/missing");
+
+        //then
+        assertFalse(first);
+        assertFalse(second);
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void givenManyFailingInputsWhenCountingThenRememberedOnesAreBounded() {
+        //given
+        NegativeCache<String> cache = NegativeCache.inCaseOf(FileNotFoundException.class).maximumSize(64).build();
+        CheckedToIntFunction<String, IOException> length = path -> load(path).length();
+        ToIntFunction<String> function = cache.decorateToIntFunction(length).handleException(new IntHandler().inCaseOf(IOException.class).returnInt(-1));
+
+        //when
+        for (int i = 0; i < 1_000; i++) {
+            function.applyAsInt("/missing-" + i);
+        }
+
+        //then
+        assertTrue(cache.isRemembered("/missing-999"));
+        assertFalse(cache.isRemembered("/missing-0"));
+        assertEquals(-1, function.applyAsInt("/missing-999"));
+        assertEquals(1_000, invocations.get());
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.exception.handler.DoubleHandler;
+import com.github.pawelkow.exception.handler.IntHandler;
+import com.github.pawelkow.function.CheckedIntFunction;
+import com.github.pawelkow.function.CheckedIntUnaryOperator;
+import com.github.pawelkow.function.CheckedLongFunction;
+import com.github.pawelkow.function.CheckedLongToDoubleFunction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongToDoubleFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.joining;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveCacheTest {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private String describe(long value) throws IOException {
+        invocations.incrementAndGet();
+        if (value < 0) {
+            throw new IOException("Negative value: " + value);
+        }
+        return "#" + value;
+    }
+
+    @Test
+    public void givenRepeatedInputsWhenInvokingMemoizedIntFunctionThenEachInputIsComputedOnce() {
+        //given
+        IntFunction<String> memoized = CheckedIntFunction.<String, IOException>wrap(this::describe).memoize(64).returnFallback("FALLBACK");
+
+        //when
+        String result = IntStream.of(1, 2, 1, -1, 2, -1).mapToObj(memoized).collect(joining(", "));
+
+        //then
+        assertEquals("#1, #2, #1, FALLBACK, #2, FALLBACK", result);
+        assertEquals(4, invocations.get());
+    }
+
+    @Test
+    public void givenInputsInRangeWhenInvokingDenselyMemoizedOperatorThenOnlyInputsInRangeAreCached() {
+        //given
+        CheckedIntUnaryOperator<IOException> square = operand -> {
+            invocations.incrementAndGet();
+            return operand * operand;
+        };
+        IntUnaryOperator memoized = square.memoize(0, 9).handleException(new IntHandler().inAnyCase().returnInt(-1));
+
+        //when
+        int sum = IntStream.of(3, 3, 9, 9, 10, 10).map(memoized).sum();
+
+        //then
+        assertEquals(2 * (9 + 81 + 100), sum);
+        assertEquals(4, invocations.get());
+    }
+
+    @Test
+    public void givenMoreInputsThanMaximumSizeWhenInvokingMemoizedLongFunctionThenCacheStaysBounded() {
+        //given
+        PrimitiveCache cache = PrimitiveCache.maximumSize(64);
+        CheckedLongFunction<String, IOException> loader = this::describe;
+
+        //when
+        LongStream.range(0, 1_000).forEach(value -> assertDoesNotThrow(() -> cache.get(value, loader)));
+
+        //then
+        assertTrue(cache.size() <= 64);
+        assertTrue(cache.size() > 0);
+        assertEquals(1_000, invocations.get());
+    }
+
+    @Test
+    public void givenNullResultWhenInvokingMemoizedLongFunctionThenItsCachedAsAnyOtherValue() {
+        //given
+        CheckedLongFunction<String, IOException> nothing = value -> {
+            invocations.incrementAndGet();
+            return null;
+        };
+        CheckedLongFunction<String, IOException> memoized = nothing.memoize(16);
+
+        //when
+        memoized.apply(Long.MAX_VALUE);
+        String result = memoized.apply(Long.MAX_VALUE);
+
+        //then
+        assertNull(result);
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void givenRepeatedInputsWhenInvokingMemoizedLongToDoubleFunctionThenEachInputIsComputedOnce() {
+        //given
+        CheckedLongToDoubleFunction<IOException> sqrt = value -> {
+            invocations.incrementAndGet();
+            return Math.sqrt(value);
+        };
+        LongToDoubleFunction memoized = sqrt.memoize(16).handleException(new DoubleHandler().inAnyCase().returnDouble(Double.NaN));
+
+        //when
+        double sum = LongStream.of(4, 16, 4, 16, 4).mapToDouble(memoized).sum();
+
+        //then
+        assertEquals(14.0, sum);
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void givenInvalidRangeWhenCreatingCacheThenExceptionIsThrown() {
+        //when
+        long min = 10;
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveCache.range(min, min - 1));
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveCache.range(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.exception.handler.VoidHandler;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RefreshingSupplierTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> pendingReloads = new CopyOnWriteArrayList<>();
+    private final List<String> reportedFailures = new CopyOnWriteArrayList<>();
+    private volatile boolean failing;
+
+    private String readConfig() throws IOException {
+        int load = loads.incrementAndGet();
+        if (failing) {
+            throw new IOException("Cannot read config " + load);
+        }
+        return "config " + load;
+    }
+
+    private RefreshingSupplier<String, IOException> refreshing() {
+        return RefreshingSupplier.of(CheckedSupplier.wrap(this::readConfig), Duration.ofMillis(40))
+                .refreshAhead(Duration.ofMillis(20))
+                .using(pendingReloads::add)
+                .onReloadFailure(new VoidHandler().inCaseOf(IOException.class).handle(ex -> reportedFailures.add(ex.getMessage())).discard())
+                .build();
+    }
+
+    private void runPendingReloads() {
+        pendingReloads.forEach(Runnable::run);
+        pendingReloads.clear();
+    }
+
+    @Test
+    public void givenFreshValueWhenGettingThenItsNotReloaded() {
+        //given
+        RefreshingSupplier<String, IOException> supplier = refreshing();
+
+        //when
+        String first = supplier.get();
+        String second = supplier.get();
+
+        //then
+        assertEquals("config 1", first);
+        assertEquals("config 1", second);
+        assertTrue(pendingReloads.isEmpty());
+    }
+
+    @Test
+    public void givenValueNearExpiryWhenGettingThenSingleReloadIsStartedAndCurrentValueReturned() throws InterruptedException {
+        //given
+        RefreshingSupplier<String, IOException> supplier = refreshing();
+        supplier.get();
+        Thread.sleep(30);
+
+        //when
+        String stale = supplier.get();
+        supplier.get();
+        runPendingReloads();
+
+        //then
+        assertEquals("config 1", stale);
+        assertEquals("config 2", supplier.get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void givenFailingReloadWhenGettingThenStaleValueIsServedAndFailureReported() throws InterruptedException {
+        //given
+        RefreshingSupplier<String, IOException> supplier = refreshing();
+        supplier.get();
+        Thread.sleep(30);
+        failing = true;
+
+        //when
+        supplier.get();
+        runPendingReloads();
+
+        //then
+        assertEquals("config 1", supplier.get());
+        assertEquals(1, reportedFailures.size());
+        assertEquals("Cannot read config 2", reportedFailures.get(0));
+    }
+
+    @Test
+    public void givenFailingInitialLoadWhenGettingThenFailureIsThrown() {
+        //given
+        failing = true;
+        RefreshingSupplier<String, IOException> supplier = refreshing();
+
+        //when
+        String result = supplier.returnFallback("DEFAULT").get();
+
+        //then
+        assertEquals("DEFAULT", result);
+        assertTrue(reportedFailures.isEmpty());
+    }
+
+    @Test
+    public void givenReloadThrowingErrorWhenRefreshAheadElapsesAgainThenReloadIsRetried() throws InterruptedException {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        RefreshingSupplier<String, IOException> supplier = RefreshingSupplier.<String, IOException>of(() -> {
+                    if (attempts.incrementAndGet() == 2) {
+                        throw new StackOverflowError();
+                    }
+                    return "config " + attempts.get();
+                }, Duration.ofMillis(40))
+                .refreshAhead(Duration.ofMillis(20))
+                .using(pendingReloads::add)
+                .build();
+        supplier.get();
+        Thread.sleep(30);
+        supplier.get();
+
+        //when
+        assertThrows(StackOverflowError.class, this::runPendingReloads);
+        pendingReloads.clear();
+        Thread.sleep(30);
+        supplier.get();
+        runPendingReloads();
+
+        //then
+        assertEquals("config 3", supplier.get());
+    }
+
+    @Test
+    public void givenRejectingExecutorWhenRefreshAheadElapsesThenStaleValueIsServed() throws InterruptedException {
+        //given
+        AtomicInteger rejections = new AtomicInteger();
+        RefreshingSupplier<String, IOException> supplier = RefreshingSupplier.of(CheckedSupplier.wrap(this::readConfig), Duration.ofMillis(40))
+                .refreshAhead(Duration.ofMillis(20))
+                .using(task -> {
+                    rejections.incrementAndGet();
+                    throw new RejectedExecutionException("Shutting down");
+                })
+                .onReloadFailure(new VoidHandler().inCaseOf(IOException.class).handle(ex -> reportedFailures.add(ex.getMessage())).discard())
+                .build();
+        supplier.get();
+        Thread.sleep(30);
+
+        //when
+        String stale = supplier.get();
+        String postponed = supplier.get();
+
+        //then
+        assertEquals("config 1", stale);
+        assertEquals("config 1", postponed);
+        assertEquals(1, rejections.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void givenNegativeRefreshAheadWhenBuildingThenExceptionIsThrown() {
+        //given
+        RefreshingSupplier.Builder<String, IOException> builder = RefreshingSupplier.of(CheckedSupplier.wrap(this::readConfig), Duration.ofSeconds(1));
+
+        //when
+        Duration refreshAhead = Duration.ofMillis(-1);
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> builder.refreshAhead(refreshAhead));
+    }
+
+}
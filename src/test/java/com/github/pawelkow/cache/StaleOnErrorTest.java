@@ -0,0 +1,98 @@
+package com.github.pawelkow.cache;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.github.pawelkow.function.CheckedFunction.wrap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaleOnErrorTest {
+
+    private final Set<String> unavailable = new HashSet<>();
+    private int version;
+
+    private String fetch(String symbol) throws IOException {
+        if (symbol.startsWith("missing")) {
+            throw new FileNotFoundException(symbol);
+        }
+        if (unavailable.contains(symbol)) {
+            throw new SocketTimeoutException("Timed out fetching " + symbol);
+        }
+        return symbol + " v" + ++version;
+    }
+
+    private Function<String, String> guarded(StaleOnError<String, String> staleOnError) {
+        return staleOnError.decorate(wrap(this::fetch)).handleException(new ReferenceHandler<String>()
+                .inCaseOf(SocketTimeoutException.class).returnValue("TIMED OUT")
+                .inCaseOf(IOException.class).returnValue("FAILED"));
+    }
+
+    @Test
+    public void givenPreviousSuccessWhenToleratedFailureOccursThenLastResultIsReturned() {
+        //given
+        StaleOnError<String, String> staleOnError = StaleOnError.inCaseOf(SocketTimeoutException.class).build();
+        Function<String, String> function = guarded(staleOnError);
+        function.apply("ACME");
+        function.apply("ACME");
+
+        //when
+        unavailable.add("ACME");
+        String result = function.apply("ACME");
+
+        //then
+        assertEquals("ACME v2", result);
+        assertTrue(staleOnError.isRemembered("ACME"));
+    }
+
+    @Test
+    public void givenNoPreviousSuccessWhenToleratedFailureOccursThenItsResolvedByHandler() {
+        //given
+        StaleOnError<String, String> staleOnError = StaleOnError.inCaseOf(SocketTimeoutException.class).build();
+        Function<String, String> function = guarded(staleOnError);
+        function.apply("ACME");
+
+        //when
+        unavailable.add("INITECH");
+        String result = function.apply("INITECH");
+
+        //then
+        assertEquals("TIMED OUT", result);
+        assertFalse(staleOnError.isRemembered("INITECH"));
+    }
+
+    @Test
+    public void givenNotToleratedFailureWhenInvokingThenItsResolvedByHandler() {
+        //given
+        StaleOnError<String, String> staleOnError = StaleOnError.inCaseOf(SocketTimeoutException.class).build();
+        Function<String, String> function = guarded(staleOnError);
+
+        //when
+        String result = function.apply("missing");
+
+        //then
+        assertEquals("FAILED", result);
+    }
+
+    @Test
+    public void givenForgottenResultWhenToleratedFailureOccursThenItsResolvedByHandler() {
+        //given
+        StaleOnError<String, String> staleOnError = StaleOnError.inCaseOf(SocketTimeoutException.class).maximumSize(10).build();
+        Function<String, String> function = guarded(staleOnError);
+        function.apply("ACME");
+
+        //when
+        staleOnError.forget("ACME");
+        unavailable.add("ACME");
+
+        //then
+        assertEquals("TIMED OUT", function.apply("ACME"));
+    }
+
+}
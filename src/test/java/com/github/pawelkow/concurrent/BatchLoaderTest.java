@@ -0,0 +1,181 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchLoaderTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private Map<Integer, String> findAll(List<Integer> ids) throws IOException {
+        batches.add(ids);
+        if (ids.contains(-1)) {
+            throw new IOException("Connection lost");
+        }
+        Map<Integer, String> users = new HashMap<>();
+        for (Integer id : ids) {
+            if (id != 0) {
+                users.put(id, "user " + id);
+            }
+        }
+        return users;
+    }
+
+    @Test
+    public void givenFullBatchWhenLoadingThenItsDispatchedWithSingleBulkCall() {
+        //given
+        BatchLoader<Integer, String, IOException> loader = BatchLoader.of(this::findAll)
+                .maxBatchSize(3)
+                .maxDelay(Duration.ofMinutes(1))
+                .build();
+
+        //when
+        CompletableFuture<String> first = loader.loadAsync(1);
+        CompletableFuture<String> second = loader.loadAsync(2);
+        CompletableFuture<String> third = loader.loadAsync(3);
+
+        //then
+        assertEquals("user 1", first.join());
+        assertEquals("user 2", second.join());
+        assertEquals("user 3", third.join());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), batches);
+    }
+
+    @Test
+    public void givenIncompleteBatchWhenDelayElapsesThenItsDispatchedOnceWithDistinctInputs() {
+        //given
+        BatchLoader<Integer, String, IOException> loader = BatchLoader.of(this::findAll)
+                .maxDelay(Duration.ofMillis(20))
+                .build();
+
+        //when
+        CompletableFuture<String> first = loader.loadAsync(1);
+        CompletableFuture<String> duplicate = loader.loadAsync(1);
+        CompletableFuture<String> second = loader.loadAsync(2);
+
+        //then
+        assertEquals("user 1", first.join());
+        assertEquals("user 1", duplicate.join());
+        assertEquals("user 2", second.join());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2)), batches);
+    }
+
+    @Test
+    public void givenCancelledFutureOfDuplicateInputWhenDispatchingThenOtherCallersAreNotAffected() {
+        //given
+        BatchLoader<Integer, String, IOException> loader = BatchLoader.of(this::findAll)
+                .maxDelay(Duration.ofMinutes(1))
+                .build();
+        CompletableFuture<String> cancelled = loader.loadAsync(1);
+        CompletableFuture<String> duplicate = loader.loadAsync(1);
+
+        //when
+        cancelled.cancel(true);
+        loader.dispatch();
+
+        //then
+        assertTrue(cancelled.isCancelled());
+        assertEquals("user 1", duplicate.join());
+    }
+
+    @Test
+    public void givenMissingResultWhenInvokingThenItsResolvedPerElementByHandler() {
+        //given
+        BatchLoader<Integer, String, IOException> loader = BatchLoader.of(this::findAll).maxDelay(Duration.ZERO).build();
+        Function<Integer, String> function = loader.handleException(new ReferenceHandler<String>()
+                .inCaseOf(NoSuchElementException.class).returnValue("UNKNOWN")
+                .inCaseOf(IOException.class).rethrow(UncheckedIOException::new));
+
+        //when
+        String present = function.apply(7);
+        String missing = function.apply(0);
+
+        //then
+        assertEquals("user 7", present);
+        assertEquals("UNKNOWN", missing);
+        assertThrows(UncheckedIOException.class, () -> function.apply(-1));
+    }
+
+    @Test
+    public void givenFailingBulkCallWhenLoadingThenEveryInputFailsWithSameException() {
+        //given
+        BatchLoader<Integer, String, IOException> loader = BatchLoader.of(this::findAll)
+                .maxDelay(Duration.ofMinutes(1))
+                .build();
+        CompletableFuture<String> first = loader.loadAsync(-1);
+        CompletableFuture<String> second = loader.loadAsync(2);
+
+        //when
+        loader.dispatch();
+
+        //then
+        Throwable firstFailure = assertThrows(Exception.class, first::join).getCause();
+        Throwable secondFailure = assertThrows(Exception.class, second::join).getCause();
+        assertTrue(firstFailure instanceof IOException);
+        assertSame(firstFailure, secondFailure);
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void givenRejectingExecutorWhenLoadingThenInputFailsWithoutWaitingForDelay() {
+        //given
+        BatchLoader<Integer, String, IOException> loader = BatchLoader.of(this::findAll)
+                .maxDelay(Duration.ofMinutes(1))
+                .using(task -> {
+                    throw new RejectedExecutionException("Shutting down");
+                })
+                .build();
+
+        //when
+        String result = loader.handleException(new ReferenceHandler<String>().inCaseOf(RejectedExecutionException.class).returnValue("REJECTED"))
+                .apply(1);
+
+        //then
+        assertEquals("REJECTED", result);
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void givenConcurrentInvocationsWhenBatchIsFullThenAllOfThemAreResolvedWithSingleBulkCall() throws Exception {
+        //given
+        BatchLoader<Integer, String, IOException> loader = BatchLoader.of(this::findAll)
+                .maxBatchSize(4)
+                .maxDelay(Duration.ofMinutes(1))
+                .build();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        //when
+        List<Future<String>> results = new ArrayList<>();
+        for (int id = 1; id <= 4; id++) {
+            int input = id;
+            results.add(callers.submit(() -> loader.applyWithException(input)));
+        }
+
+        //then
+        for (int id = 1; id <= 4; id++) {
+            assertEquals("user " + id, results.get(id - 1).get());
+        }
+        assertEquals(1, batches.size());
+        callers.shutdown();
+    }
+
+}
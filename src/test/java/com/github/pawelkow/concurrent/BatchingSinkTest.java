@@ -0,0 +1,179 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.VoidHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchingSinkTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final List<String> reportedFailures = new CopyOnWriteArrayList<>();
+
+    private void insertAll(List<String> rows) throws IOException {
+        if (rows.contains("crash")) {
+            throw new StackOverflowError();
+        }
+        if (rows.contains("broken")) {
+            throw new IOException("Cannot insert " + rows);
+        }
+        batches.add(rows);
+    }
+
+    private BatchingSink.Builder<String> sink() {
+        return BatchingSink.of(this::insertAll)
+                .stripes(1)
+                .maxDelay(Duration.ZERO)
+                .onFlushFailure(new VoidHandler().inCaseOf(IOException.class).handle(ex -> reportedFailures.add(ex.getMessage())).discard());
+    }
+
+    @Test
+    public void givenMaximumBatchSizeReachedWhenAcceptingThenBatchIsFlushed() {
+        //given
+        BatchingSink<String> sink = sink().maxBatchSize(2).build();
+
+        //when
+        Arrays.asList("a", "b", "c").forEach(sink);
+
+        //then
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b")), batches);
+    }
+
+    @Test
+    public void givenMaximumBatchBytesReachedWhenAcceptingThenBatchIsFlushed() {
+        //given
+        BatchingSink<String> sink = sink().maxBatchBytes(6, String::length).build();
+
+        //when
+        Arrays.asList("abc", "de", "f", "gh").forEach(sink);
+
+        //then
+        assertEquals(Collections.singletonList(Arrays.asList("abc", "de", "f")), batches);
+    }
+
+    @Test
+    public void givenMaximumDelayElapsedWhenWaitingThenBatchIsFlushedInBackground() throws InterruptedException {
+        //given
+        BatchingSink<String> sink = sink().maxDelay(Duration.ofMillis(20)).build();
+
+        //when
+        sink.accept("a");
+        sink.accept("b");
+        long waitUntil = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (batches.isEmpty() && System.nanoTime() < waitUntil) {
+            Thread.sleep(5);
+        }
+
+        //then
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b")), batches);
+    }
+
+    @Test
+    public void givenErrorInBackgroundFlushWhenAcceptingMoreItemsThenTheyAreStillFlushedOnTime() throws InterruptedException {
+        //given
+        BatchingSink<String> sink = sink().maxDelay(Duration.ofMillis(20)).using(task -> {
+            Thread thread = new Thread(task);
+            thread.setUncaughtExceptionHandler((failed, error) -> {
+            });
+            thread.start();
+        }).build();
+        sink.accept("crash");
+        Thread.sleep(100);
+
+        //when
+        sink.accept("a");
+        long waitUntil = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (batches.isEmpty() && System.nanoTime() < waitUntil) {
+            Thread.sleep(5);
+        }
+
+        //then
+        assertEquals(Collections.singletonList(Collections.singletonList("a")), batches);
+    }
+
+    @Test
+    public void givenFailingBulkConsumerWhenFlushingThenFailureIsReported() {
+        //given
+        BatchingSink<String> sink = sink().build();
+        sink.accept("broken");
+        sink.accept("a");
+
+        //when
+        sink.flush();
+
+        //then
+        assertTrue(batches.isEmpty());
+        assertEquals(Collections.singletonList("Cannot insert [broken, a]"), reportedFailures);
+    }
+
+    @Test
+    public void givenClosedSinkWhenAcceptingThenRemainingItemsAreFlushedAndNewOnesRejected() {
+        //given
+        BatchingSink<String> sink = sink().build();
+        sink.accept("a");
+
+        //when
+        sink.close();
+
+        //then
+        assertEquals(Collections.singletonList(Collections.singletonList("a")), batches);
+        assertThrows(IllegalStateException.class, () -> sink.accept("b"));
+    }
+
+    @Test
+    public void givenSlowBackgroundFlushWhenClosingThenItWaitsForTheBatchToBeWritten() throws Exception {
+        //given
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch writeReleased = new CountDownLatch(1);
+        BatchingSink<String> sink = BatchingSink.<String>of(rows -> {
+                    writeStarted.countDown();
+                    writeReleased.await(5, TimeUnit.SECONDS);
+                    batches.add(rows);
+                })
+                .stripes(1)
+                .maxDelay(Duration.ofMillis(10))
+                .build();
+        sink.accept("a");
+        assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+
+        //when
+        CompletableFuture<Void> closing = CompletableFuture.runAsync(sink::close);
+        Thread.sleep(50);
+        boolean closedBeforeWritten = closing.isDone();
+        writeReleased.countDown();
+        closing.get(5, TimeUnit.SECONDS);
+
+        //then
+        assertFalse(closedBeforeWritten);
+        assertEquals(Collections.singletonList(Collections.singletonList("a")), batches);
+    }
+
+    @Test
+    public void givenConcurrentProducersWhenClosingThenEveryItemIsFlushedOnce() {
+        //given
+        BatchingSink<String> sink = BatchingSink.of(this::insertAll).maxBatchSize(7).build();
+
+        //when
+        IntStream.range(0, 10_000).parallel().mapToObj(String::valueOf).forEach(sink);
+        sink.close();
+
+        //then
+        List<String> flushed = new ArrayList<>();
+        batches.forEach(flushed::addAll);
+        assertEquals(IntStream.range(0, 10_000).mapToObj(String::valueOf).sorted().collect(toList()), flushed.stream().sorted().collect(toList()));
+    }
+
+}
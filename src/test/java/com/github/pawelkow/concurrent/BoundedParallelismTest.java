@@ -0,0 +1,80 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedParallelismTest {
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private String readDangerously(int value) throws IOException, InterruptedException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(2);
+            if (value % 7 == 6) {
+                throw new IOException("Unreadable: " + value);
+            }
+            return String.valueOf(value);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    @Test
+    public void givenResolverWhenMappingThenResultsAreInInputOrderAndConcurrencyIsBounded() throws InterruptedException {
+        //given
+        List<Integer> inputs = IntStream.range(0, 200).boxed().collect(toList());
+
+        //when
+        List<String> results = BoundedParallelism.of(8).map(inputs, this::readDangerously, new ReferenceHandler<String>()
+                .inCaseOf(IOException.class).returnValue("?"));
+
+        //then
+        assertEquals(inputs.stream().map(i -> i % 7 == 6 ? "?" : String.valueOf(i)).collect(toList()), results);
+        assertTrue(maxRunning.get() <= 8);
+    }
+
+    @Test
+    public void givenDefaultResolverWhenMappingThenFirstFailureIsRethrown() {
+        //given
+        List<Integer> inputs = IntStream.range(0, 200).boxed().collect(toList());
+
+        //when
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, () -> BoundedParallelism.of(4).map(inputs, this::readDangerously));
+
+        //then
+        assertEquals("Unreadable: 6", exception.getCause().getMessage());
+        assertEquals(0, running.get());
+    }
+
+    @Test
+    public void givenExplicitExecutorWhenMappingThenItsUsed() throws InterruptedException {
+        //given
+        AtomicInteger executions = new AtomicInteger();
+
+        //when
+        List<String> results = BoundedParallelism.of(2)
+                .using(task -> {
+                    executions.incrementAndGet();
+                    task.run();
+                })
+                .map(IntStream.range(0, 7).boxed().collect(toList()), this::readDangerously, new ReferenceHandler<String>()
+                        .inAnyCase().discard());
+
+        //then
+        assertEquals(7, executions.get());
+        assertEquals("0", results.get(0));
+        assertNull(results.get(6));
+    }
+
+}
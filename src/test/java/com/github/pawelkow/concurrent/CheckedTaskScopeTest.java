@@ -0,0 +1,116 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckedTaskScopeTest {
+
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    private String supplyAfter(long millis, String value) throws InterruptedException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            interrupted.countDown();
+            throw ex;
+        }
+        return value;
+    }
+
+    private String failAfter(long millis) throws IOException, InterruptedException {
+        Thread.sleep(millis);
+        throw new IOException("Unavailable");
+    }
+
+    @Test
+    public void givenSucceedingSubtasksWhenJoiningShutdownOnFailureScopeThenAllResultsAreAvailable() throws InterruptedException {
+        try (CheckedTaskScope.ShutdownOnFailure scope = CheckedTaskScope.shutdownOnFailure()) {
+            //given
+            CheckedTaskScope.Subtask<String> first = scope.fork(() -> supplyAfter(10, "first"));
+            CheckedTaskScope.Subtask<String> second = scope.fork(() -> supplyAfter(20, "second"));
+
+            //when
+            scope.join().throwIfFailed();
+
+            //then
+            assertEquals("first", first.get());
+            assertEquals("second", second.get());
+        }
+    }
+
+    @Test
+    public void givenFailingSubtaskWhenJoiningShutdownOnFailureScopeThenStragglersAreCancelledAndFailureIsRethrown() throws InterruptedException {
+        try (CheckedTaskScope.ShutdownOnFailure scope = CheckedTaskScope.shutdownOnFailure()) {
+            //given
+            CheckedTaskScope.Subtask<String> straggler = scope.fork(() -> supplyAfter(10_000, "late"));
+            scope.fork(() -> failAfter(10));
+
+            //when
+            long start = System.nanoTime();
+            scope.join();
+
+            //then
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(CheckedTaskScope.Subtask.State.UNAVAILABLE, straggler.state());
+            assertEquals("late?", straggler.get(new ReferenceHandler<String>().inAnyCase().returnValue("late?")));
+            assertThrows(UncheckedIOException.class, scope::throwIfFailed);
+        }
+    }
+
+    @Test
+    public void givenShutdownOnSuccessScopeWhenAnySubtaskSucceedsThenItsResultIsReturned() throws InterruptedException {
+        try (CheckedTaskScope.ShutdownOnSuccess<String> scope = CheckedTaskScope.shutdownOnSuccess()) {
+            //given
+            scope.fork(() -> failAfter(1));
+            scope.fork(() -> supplyAfter(10, "fast"));
+            scope.fork(() -> supplyAfter(10_000, "slow"));
+
+            //when
+            String result = scope.join().result();
+
+            //then
+            assertEquals("fast", result);
+        }
+    }
+
+    @Test
+    public void givenShutdownOnSuccessScopeWhenAllSubtasksFailThenFailureIsResolved() throws InterruptedException {
+        try (CheckedTaskScope.ShutdownOnSuccess<String> scope = CheckedTaskScope.shutdownOnSuccess()) {
+            //given
+            scope.fork(() -> failAfter(1));
+            scope.fork(() -> failAfter(2));
+
+            //when
+            String result = scope.join().result(new ReferenceHandler<String>()
+                    .inCaseOf(IOException.class).returnValue("fallback"));
+
+            //then
+            assertEquals("fallback", result);
+        }
+    }
+
+    @Test
+    public void givenSlowSubtaskWhenJoiningWithTimeoutThenScopeIsShutDown() {
+        try (CheckedTaskScope.ShutdownOnFailure scope = CheckedTaskScope.shutdownOnFailure()) {
+            //given
+            CheckedTaskScope.Subtask<String> subtask = scope.fork(() -> supplyAfter(10_000, "late"));
+
+            //when
+            assertThrows(TimeoutException.class, () -> scope.joinUntil(10, TimeUnit.MILLISECONDS));
+
+            //then
+            assertTrue(scope.isShutdown());
+            assertThrows(IllegalStateException.class, subtask::get);
+        }
+    }
+
+}
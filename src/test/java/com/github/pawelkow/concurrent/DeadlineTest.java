@@ -0,0 +1,150 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.CheckedSupplier;
+import com.github.pawelkow.resilience.Backoff;
+import com.github.pawelkow.resilience.Retry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineTest {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private String load(String id) throws IOException {
+        invocations.incrementAndGet();
+        return "loaded " + id;
+    }
+
+    private Function<String, String> enforced() {
+        return CheckedFunction.wrap(this::load)
+                .interceptWith(Deadline.enforce())
+                .handleException(new ReferenceHandler<String>()
+                        .inCaseOf(DeadlineExceededException.class).returnValue("EXPIRED")
+                        .inCaseOf(IOException.class).returnValue("FAILED"));
+    }
+
+    @Test
+    public void givenNoDeadlineWhenInvokingEnforcedFunctionThenItsPerformed() {
+        //given
+        Function<String, String> function = enforced();
+
+        //when
+        String result = function.apply("a");
+
+        //then
+        assertEquals("loaded a", result);
+        assertFalse(Deadline.isSet());
+        assertEquals(Long.MAX_VALUE, Deadline.remainingNanos());
+    }
+
+    @Test
+    public void givenExpiredDeadlineWhenInvokingEnforcedFunctionThenDelegateIsSkipped() throws InterruptedException {
+        //given
+        Function<String, String> function = enforced();
+
+        //when
+        String result = Deadline.within(Duration.ofMillis(10), () -> {
+            Thread.sleep(20);
+            return function.apply("a");
+        });
+
+        //then
+        assertEquals("EXPIRED", result);
+        assertEquals(0, invocations.get());
+    }
+
+    @Test
+    public void givenNestedDeadlineWhenItsLongerThenOuterBudgetIsKept() {
+        //given
+        Duration outer = Duration.ofMillis(100);
+
+        //when
+        long remaining = Deadline.within(outer, () -> Deadline.within(Duration.ofMinutes(1), Deadline::remainingNanos));
+
+        //then
+        assertTrue(remaining <= outer.toNanos());
+        assertFalse(Deadline.isSet());
+    }
+
+    @Test
+    public void givenNestedDeadlineWhenItsShorterThenItAppliesOnlyWithinNestedCall() {
+        //given
+        Duration outer = Duration.ofMinutes(1);
+
+        //when
+        long[] remaining = Deadline.within(outer, () -> new long[]{
+                Deadline.within(Duration.ofMillis(100), Deadline::remainingNanos),
+                Deadline.remainingNanos()});
+
+        //then
+        assertTrue(remaining[0] <= Duration.ofMillis(100).toNanos());
+        assertTrue(remaining[1] > Duration.ofMillis(100).toNanos());
+    }
+
+    @Test
+    public void givenDeadlineShorterThanTimeoutWhenRunningWithTimeoutThenDeadlineExceededIsResolved() {
+        //given
+        CheckedSupplier<String, InterruptedException> slow = () -> {
+            Thread.sleep(10_000);
+            return "LATE";
+        };
+
+        //when
+        String result = Deadline.within(Duration.ofMillis(20), () -> slow.withTimeout(Duration.ofSeconds(5))
+                .handleException(new ReferenceHandler<String>()
+                        .inCaseOf(DeadlineExceededException.class).returnValue("EXPIRED")
+                        .inCaseOf(TimeoutException.class).returnValue("TIMED OUT"))
+                .get());
+
+        //then
+        assertEquals("EXPIRED", result);
+    }
+
+    @Test
+    public void givenDeadlineWhenRunningSubtaskInScopeThenItSeesRemainingBudget() throws InterruptedException {
+        //given
+        Duration budget = Duration.ofSeconds(30);
+
+        //when
+        long remaining = Deadline.within(budget, () -> {
+            try (CheckedTaskScope.ShutdownOnSuccess<Long> scope = CheckedTaskScope.shutdownOnSuccess()) {
+                scope.fork(Deadline::remainingNanos);
+                return scope.join().result();
+            }
+        });
+
+        //then
+        assertTrue(remaining > 0 && remaining <= budget.toNanos());
+    }
+
+    @Test
+    public void givenDeadlineWhenBackoffExceedsItThenRetryingStops() {
+        //given
+        CheckedSupplier<String, IOException> failing = () -> {
+            invocations.incrementAndGet();
+            throw new IOException("Unavailable");
+        };
+
+        //when
+        String result = Deadline.within(Duration.ofMillis(50), () -> failing
+                .interceptWith(Retry.inAnyCase().times(5).backoff(Backoff.fixed(Duration.ofSeconds(1))))
+                .returnFallback("FAILED")
+                .get());
+
+        //then
+        assertEquals("FAILED", result);
+        assertEquals(1, invocations.get());
+    }
+
+}
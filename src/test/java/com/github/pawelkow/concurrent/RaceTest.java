@@ -0,0 +1,133 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RaceTest {
+
+    private final CountDownLatch loserStarted = new CountDownLatch(1);
+    private final CountDownLatch loserInterrupted = new CountDownLatch(1);
+    private final AtomicInteger started = new AtomicInteger();
+
+    private String stall() throws IOException {
+        started.incrementAndGet();
+        loserStarted.countDown();
+        try {
+            Thread.sleep(10_000);
+            return "stalled";
+        } catch (InterruptedException ex) {
+            loserInterrupted.countDown();
+            throw new IOException(ex);
+        }
+    }
+
+    private String respond(String value) {
+        started.incrementAndGet();
+        return value;
+    }
+
+    @Test
+    public void givenAlternativesWhenRacingThenFirstSuccessWinsAndLoserIsCancelled() throws Exception {
+        //given
+        Race<String> race = Race.of(this::stall, () -> {
+            loserStarted.await(5, TimeUnit.SECONDS);
+            return respond("mirror");
+        });
+
+        //when
+        String result = race.getWithException();
+
+        //then
+        assertEquals("mirror", result);
+        assertTrue(loserInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenFailingAlternativeWhenRacingThenItsIgnoredIfAnotherSucceeds() {
+        //given
+        CheckedSupplier<String, IOException> failing = () -> {
+            throw new FileNotFoundException("replica");
+        };
+
+        //when
+        String result = Race.of(failing, () -> respond("cache")).returnFallback("FALLBACK").get();
+
+        //then
+        assertEquals("cache", result);
+    }
+
+    @Test
+    public void givenAllAlternativesFailingWhenRacingThenAggregatedFailureIsResolved() {
+        //given
+        CheckedSupplier<String, IOException> first = () -> {
+            throw new FileNotFoundException("first");
+        };
+        CheckedSupplier<String, IOException> second = () -> {
+            throw new IOException("second");
+        };
+
+        //when
+        String result = Race.of(first, second)
+                .handleException(new ReferenceHandler<String>().inCaseOf(AllFailedException.class).mapToValue(ex -> ex.getFailures().size() + " failed"))
+                .get();
+
+        //then
+        assertEquals("2 failed", result);
+    }
+
+    @Test
+    public void givenStaggeredRaceWhenFirstAlternativeIsFastThenOthersAreNotStarted() throws Exception {
+        //given
+        Race<String> race = Race.of(() -> respond("primary"), () -> respond("secondary")).staggered(Duration.ofSeconds(5));
+
+        //when
+        String result = race.getWithException();
+
+        //then
+        assertEquals("primary", result);
+        assertEquals(1, started.get());
+    }
+
+    @Test
+    public void givenStaggeredRaceWhenFirstAlternativeFailsThenNextIsStartedImmediately() throws Exception {
+        //given
+        CheckedSupplier<String, IOException> failing = () -> {
+            throw new IOException("primary");
+        };
+        Race<String> race = Race.of(failing, () -> respond("secondary")).staggered(Duration.ofSeconds(5));
+
+        //when
+        long start = System.nanoTime();
+        String result = race.getWithException();
+
+        //then
+        assertEquals("secondary", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    @Test
+    public void givenAllFailedExceptionWhenInspectingFailuresThenTheyKeepOrder() {
+        //given
+        AllFailedException exception = new AllFailedException(Arrays.asList(new IOException("a"), new IllegalStateException("b")));
+
+        //when
+        List<Throwable> failures = exception.getFailures();
+
+        //then
+        assertEquals("a", failures.get(0).getMessage());
+        assertEquals("b", failures.get(1).getMessage());
+    }
+
+}
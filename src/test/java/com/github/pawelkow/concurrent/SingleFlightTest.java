@@ -0,0 +1,124 @@
+package com.github.pawelkow.concurrent;
+
+import com.github.pawelkow.function.CheckedFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicInteger arrived = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String load(String key) throws IOException, InterruptedException {
+        invocations.incrementAndGet();
+        release.await();
+        if (key.startsWith("broken")) {
+            throw new IOException("Cannot load " + key);
+        }
+        return "value of " + key;
+    }
+
+    private List<Future<Object>> callConcurrently(CheckedFunction<String, String, Exception> function, String key) throws InterruptedException {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                arrived.incrementAndGet();
+                try {
+                    return function.applyWithException(key);
+                } catch (Exception ex) {
+                    return ex;
+                }
+            }));
+        }
+        while (arrived.get() < CALLERS) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        release.countDown();
+        return futures;
+    }
+
+    @Test
+    public void givenConcurrentCallsForSameKeyWhenInvokingThenDelegateIsCalledOnceAndResultShared() throws Exception {
+        //given
+        SingleFlight<String> flight = new SingleFlight<>();
+        CheckedFunction<String, String, Exception> function = flight.decorate(this::load);
+
+        //when
+        List<Future<Object>> futures = callConcurrently(function, "profile");
+
+        //then
+        Object first = futures.get(0).get();
+        for (Future<Object> future : futures) {
+            assertSame(first, future.get());
+        }
+        assertEquals("value of profile", first);
+        assertEquals(1, invocations.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    public void givenFailingDelegateWhenInvokingConcurrentlyThenAllCallersGetSameFailureAndFlightIsForgotten() throws Exception {
+        //given
+        SingleFlight<String> flight = new SingleFlight<>();
+        CheckedFunction<String, String, Exception> function = flight.decorate(this::load);
+
+        //when
+        List<Future<Object>> futures = callConcurrently(function, "broken");
+
+        //then
+        Set<Object> outcomes = new HashSet<>();
+        for (Future<Object> future : futures) {
+            outcomes.add(future.get());
+        }
+        assertEquals(1, outcomes.size());
+        assertTrue(outcomes.iterator().next() instanceof IOException);
+        assertEquals(1, invocations.get());
+        assertEquals(0, flight.inFlight());
+        assertThrows(IOException.class, () -> function.applyWithException("broken"));
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void givenNestedCallForSameKeyWhenInvokingThenItsPerformedDirectly() throws ExecutionException, InterruptedException {
+        //given
+        SingleFlight<Integer> flight = new SingleFlight<>();
+        CheckedFunction<Integer, Integer, RuntimeException> depth = new CheckedFunction<Integer, Integer, RuntimeException>() {
+            @Override
+            public Integer applyWithException(Integer level) {
+                return level == 0 ? 0 : 1 + flight.<Integer, RuntimeException>execute(1, () -> applyWithException(level - 1));
+            }
+        };
+
+        //when
+        Future<Integer> result = executor.submit(() -> flight.execute(1, () -> depth.applyWithException(3)));
+
+        //then
+        assertEquals(Integer.valueOf(3), result.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+}
@@ -1,10 +1,19 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.cache.CacheSpec;
+import com.github.pawelkow.exception.handler.ReferenceHandler;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.github.pawelkow.function.CheckedFunction.wrap;
@@ -68,4 +77,69 @@ public class CheckedFunctionTest {
                 .collect(joining()));
     }
 
+    @Test
+    public void givenAsyncFunctionWhenHandlingNoExceptionThenItMapsUsingExecutor() throws Exception {
+        //given
+        CheckedFunction<Object, String, IOException> mapper = this::mapDangerously;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        //when
+        CompletableFuture<String> future = mapper.async(executor).apply(Boolean.TRUE);
+
+        //then
+        try {
+            assertEquals("true", future.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void givenAsyncFunctionWhenHandlingCheckedExceptionThenFutureCompletesWithIt() {
+        //given
+        CheckedFunction<Object, String, IOException> mapper = this::mapDangerously;
+
+        //when
+        CompletableFuture<String> future = mapper.async(Runnable::run).apply("test");
+
+        //then
+        assertEquals("String", future.exceptionally(Throwable::getMessage).join());
+    }
+
+    @Test
+    public void givenSlowFunctionWhenTimeoutElapsesThenOnlySlowInputsAreTimedOut() {
+        //given
+        CheckedFunction<Long, String, InterruptedException> function = millis -> {
+            Thread.sleep(millis);
+            return "slept " + millis;
+        };
+
+        //when
+        String result = Stream.of(0L, 10_000L)
+                .map(function.withTimeout(Duration.ofMillis(50)).handleException(new ReferenceHandler<String>()
+                        .inCaseOf(TimeoutException.class).returnValue("timed out")))
+                .collect(joining(", "));
+
+        //then
+        assertEquals("slept 0, timed out", result);
+    }
+
+    @Test
+    public void givenMemoizedFunctionWhenInvokedRepeatedlyThenOnlySuccessfulResultsAreCached() {
+        //given
+        AtomicInteger invocations = new AtomicInteger();
+        CheckedFunction<Object, String, IOException> mapper = obj -> {
+            invocations.incrementAndGet();
+            return mapDangerously(obj);
+        };
+        Function<Object, String> memoized = mapper.memoize(CacheSpec.maximumSize(10)).returnFallback("FALLBACK");
+
+        //when
+        String result = Stream.of(1.0, 1.0, "fail", "fail").map(memoized).collect(joining(", "));
+
+        //then
+        assertEquals("1.0, 1.0, FALLBACK, FALLBACK", result);
+        assertEquals(3, invocations.get());
+    }
+
 }
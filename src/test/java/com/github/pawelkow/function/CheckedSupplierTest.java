@@ -1,12 +1,19 @@
 package com.github.pawelkow.function;
 
+import com.github.pawelkow.exception.handler.ReferenceHandler;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.github.pawelkow.function.CheckedSupplier.wrap;
 import static java.util.Collections.singletonList;
@@ -76,4 +83,75 @@ public class CheckedSupplierTest {
                 .orElseGet(wrap(this::supplyDangerously)));
     }
 
+    @Test
+    public void givenAsyncSupplierWhenHandlingCheckedExceptionThenFutureCompletesWithIt() {
+        //given
+        CheckedSupplier<String, IOException> supplier = this::supplyDangerously;
+        randomFate = 1;
+
+        //when
+        CompletableFuture<String> future = supplier.async(Runnable::run);
+
+        //then
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals("IOException", future.handle((value, ex) -> ex.getClass().getSimpleName()).join());
+    }
+
+    @Test
+    public void givenAsyncSupplierWithResolverWhenHandlingCheckedExceptionThenItsResolvedWithinStage() {
+        //given
+        CheckedSupplier<String, IOException> supplier = this::supplyDangerously;
+        randomFate = 1;
+
+        //when
+        CompletableFuture<String> future = supplier.async(Runnable::run, new ReferenceHandler<String>()
+                .inCaseOf(IOException.class).returnValue("FALLBACK"));
+
+        //then
+        assertEquals("FALLBACK", future.join());
+    }
+
+    @Test
+    public void givenHangingSupplierWhenTimeoutElapsesThenTimeoutExceptionIsResolvedAndSupplierInterrupted() throws InterruptedException {
+        //given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CheckedSupplier<String, IOException> supplier = () -> {
+            try {
+                Thread.sleep(10_000);
+                return "LATE";
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+                throw new InterruptedIOException();
+            }
+        };
+
+        //when
+        String result = supplier.withTimeout(Duration.ofMillis(20))
+                .handleException(new ReferenceHandler<String>()
+                        .inCaseOf(TimeoutException.class).returnValue("TIMED OUT")
+                        .inCaseOf(IOException.class).rethrow(UncheckedIOException::new))
+                .get();
+
+        //then
+        assertEquals("TIMED OUT", result);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenFailingSupplierWhenRunWithTimeoutThenOriginalExceptionIsResolved() {
+        //given
+        CheckedSupplier<String, IOException> supplier = this::supplyDangerously;
+        randomFate = 1;
+
+        //when
+        String result = supplier.withTimeout(Duration.ofSeconds(5))
+                .handleException(new ReferenceHandler<String>()
+                        .inCaseOf(TimeoutException.class).returnValue("TIMED OUT")
+                        .inCaseOf(IOException.class).returnValue("FAILED"))
+                .get();
+
+        //then
+        assertEquals("FAILED", result);
+    }
+
 }
@@ -0,0 +1,113 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveLimiterTest {
+
+    @Test
+    public void givenFailuresWhenInvokingThenLimitDecreases() {
+        //given
+        AdaptiveLimiter limiter = AdaptiveLimiter.inCaseOf(IOException.class).initialLimit(10).backoffRatio(0.5).build();
+        CheckedSupplier<String, IOException> supplier = () -> {
+            throw new IOException("Overloaded");
+        };
+
+        //when
+        for (int i = 0; i < 2; i++) {
+            supplier.interceptWith(limiter).returnFallback("FAILED").get();
+        }
+
+        //then
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void givenFailuresInFlightTogetherWhenInvokingThenLimitDecreasesOnce() throws Exception {
+        //given
+        AdaptiveLimiter limiter = AdaptiveLimiter.inCaseOf(IOException.class).initialLimit(10).backoffRatio(0.5).build();
+        CountDownLatch started = new CountDownLatch(2);
+        Supplier<String> supplier = CheckedSupplier.<String, Exception>wrap(() -> {
+            started.countDown();
+            started.await(5, TimeUnit.SECONDS);
+            throw new IOException("Overloaded");
+        }).interceptWith(limiter).returnFallback("FAILED");
+
+        //when
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(supplier);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(supplier);
+
+        //then
+        assertEquals("FAILED", first.get(5, TimeUnit.SECONDS));
+        assertEquals("FAILED", second.get(5, TimeUnit.SECONDS));
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void givenSuccessesAtFullUtilizationWhenInvokingThenLimitIncreases() {
+        //given
+        AdaptiveLimiter limiter = AdaptiveLimiter.inAnyCase().initialLimit(1).build();
+        Supplier<String> supplier = CheckedSupplier.wrap(() -> "OK").interceptWith(limiter).returnFallback("SHED");
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            supplier.get();
+        }
+
+        //then
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void givenLimitReachedWhenInvokingThenExcessIsShedIntoHandler() throws Exception {
+        //given
+        AdaptiveLimiter limiter = AdaptiveLimiter.inAnyCase().initialLimit(1).build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> slow = CheckedSupplier.<String, InterruptedException>wrap(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "SLOW";
+        }).interceptWith(limiter).returnFallback("INTERRUPTED");
+        CompletableFuture<String> occupying = CompletableFuture.supplyAsync(slow);
+        started.await(5, TimeUnit.SECONDS);
+
+        //when
+        String result = CheckedSupplier.wrap(() -> "FAST")
+                .interceptWith(limiter)
+                .handleException(new ReferenceHandler<String>().inCaseOf(LimitExceededException.class).returnValue("SHED"))
+                .get();
+
+        //then
+        release.countDown();
+        assertEquals("SHED", result);
+        assertEquals("SLOW", occupying.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenErrorWhenInvokingThenSlotIsReleasedAndFailureRecorded() {
+        //given
+        AdaptiveLimiter limiter = AdaptiveLimiter.inCaseOf(IOException.class).initialLimit(10).backoffRatio(0.5).build();
+        CheckedSupplier<String, IOException> supplier = () -> {
+            throw new StackOverflowError();
+        };
+
+        //when
+        assertThrows(StackOverflowError.class, supplier.interceptWith(limiter)::getWithException);
+
+        //then
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(5, limiter.getLimit());
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.exception.handler.VoidHandler;
+import com.github.pawelkow.function.CheckedConsumer;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private String callSlowDependency() throws IOException {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            throw new IOException(ex);
+        }
+        return "SLOW";
+    }
+
+    @Test
+    public void givenLimitReachedWhenInvokingThenItsRejectedIntoHandler() throws Exception {
+        //given
+        Bulkhead bulkhead = Bulkhead.maxConcurrentCalls(1).build();
+        Supplier<String> supplier = CheckedSupplier.wrap(this::callSlowDependency)
+                .interceptWith(bulkhead)
+                .handleException(new ReferenceHandler<String>().inCaseOf(BulkheadFullException.class).returnValue("BUSY"));
+        CompletableFuture<String> occupying = CompletableFuture.supplyAsync(supplier);
+        started.await(5, TimeUnit.SECONDS);
+
+        //when
+        String result = supplier.get();
+
+        //then
+        release.countDown();
+        assertEquals("BUSY", result);
+        assertEquals("SLOW", occupying.get(5, TimeUnit.SECONDS));
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    public void givenMaxWaitWhenPermitIsReleasedInTimeThenInvocationIsPerformed() throws Exception {
+        //given
+        Bulkhead bulkhead = Bulkhead.maxConcurrentCalls(1).maxWait(Duration.ofSeconds(5)).build();
+        Supplier<String> supplier = CheckedSupplier.wrap(this::callSlowDependency).interceptWith(bulkhead).returnFallback("BUSY");
+        CompletableFuture<String> occupying = CompletableFuture.supplyAsync(supplier);
+        started.await(5, TimeUnit.SECONDS);
+
+        //when
+        CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+            release.countDown();
+        });
+        String result = CheckedSupplier.wrap(() -> "FAST").interceptWith(bulkhead).get();
+
+        //then
+        assertEquals("FAST", result);
+        assertEquals("SLOW", occupying.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenFailingConsumerWhenInvokingThenPermitIsReleased() {
+        //given
+        Bulkhead bulkhead = Bulkhead.maxConcurrentCalls(1).build();
+        AtomicInteger rejected = new AtomicInteger();
+        CheckedConsumer<String, IOException> consumer = s -> {
+            throw new IOException(s);
+        };
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            consumer.interceptWith(bulkhead)
+                    .handleException(new VoidHandler()
+                            .inCaseOf(BulkheadFullException.class).handle(ex -> rejected.incrementAndGet()).discard()
+                            .inCaseOf(IOException.class).discard())
+                    .accept("x");
+        }
+
+        //then
+        assertEquals(0, rejected.get());
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+}
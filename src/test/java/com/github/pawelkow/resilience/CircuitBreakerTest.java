@@ -0,0 +1,194 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.exception.handler.LongHandler;
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.function.CheckedFunction;
+import com.github.pawelkow.function.CheckedLongSupplier;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private String fetchDangerously(boolean fail) throws IOException {
+        invocations.incrementAndGet();
+        if (fail) {
+            throw new IOException("Unavailable");
+        }
+        return "OK";
+    }
+
+    private CircuitBreaker breaker(Duration openDuration) {
+        return CircuitBreaker.inCaseOf(IOException.class)
+                .slidingWindow(4)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .openDuration(openDuration)
+                .halfOpenProbes(2)
+                .build();
+    }
+
+    private Function<Boolean, String> guarded(CircuitBreaker breaker) {
+        return CheckedFunction.wrap(this::fetchDangerously)
+                .interceptWith(breaker)
+                .handleException(new ReferenceHandler<String>()
+                        .inCaseOf(CallNotPermittedException.class).returnValue("REJECTED")
+                        .inCaseOf(IOException.class).returnValue("FAILED"));
+    }
+
+    @Test
+    public void givenFailureRateBelowThresholdWhenInvokingThenBreakerStaysClosed() {
+        //given
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        Function<Boolean, String> function = guarded(breaker);
+
+        //when
+        function.apply(true);
+        function.apply(false);
+        function.apply(false);
+        function.apply(false);
+
+        //then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.25, breaker.getFailureRate());
+        assertEquals("OK", function.apply(false));
+    }
+
+    @Test
+    public void givenFailureRateAboveThresholdWhenInvokingThenDelegateIsSkipped() {
+        //given
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        Function<Boolean, String> function = guarded(breaker);
+
+        //when
+        function.apply(true);
+        function.apply(true);
+        function.apply(false);
+        function.apply(true);
+
+        //then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("REJECTED", function.apply(false));
+        assertEquals(4, invocations.get());
+    }
+
+    @Test
+    public void givenNotRecordedFailuresWhenInvokingThenBreakerStaysClosed() {
+        //given
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        Function<String, Integer> function = CheckedFunction.<String, Integer, RuntimeException>wrap(Integer::parseInt)
+                .interceptWith(breaker)
+                .handleException(new ReferenceHandler<Integer>().inCaseOf(NumberFormatException.class).returnValue(-1));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            function.apply("x");
+        }
+
+        //then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate());
+    }
+
+    @Test
+    public void givenOpenDurationElapsedWhenProbesSucceedThenBreakerIsClosed() throws InterruptedException {
+        //given
+        CircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        Function<Boolean, String> function = guarded(breaker);
+        for (int i = 0; i < 4; i++) {
+            function.apply(true);
+        }
+
+        //when
+        Thread.sleep(40);
+
+        //then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals("OK", function.apply(false));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals("OK", function.apply(false));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+    }
+
+    @Test
+    public void givenOpenDurationElapsedWhenProbeFailsThenBreakerIsReopened() throws InterruptedException {
+        //given
+        CircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        Function<Boolean, String> function = guarded(breaker);
+        for (int i = 0; i < 4; i++) {
+            function.apply(true);
+        }
+
+        //when
+        Thread.sleep(40);
+        String probe = function.apply(true);
+
+        //then
+        assertEquals("FAILED", probe);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("REJECTED", function.apply(false));
+    }
+
+    @Test
+    public void givenOpenDurationElapsedWhenProbeThrowsErrorThenBreakerIsReopened() throws InterruptedException {
+        //given
+        CircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        Function<Boolean, String> function = guarded(breaker);
+        for (int i = 0; i < 4; i++) {
+            function.apply(true);
+        }
+        CheckedSupplier<String, IOException> crashing = () -> {
+            throw new StackOverflowError();
+        };
+
+        //when
+        Thread.sleep(40);
+        assertThrows(StackOverflowError.class, crashing.interceptWith(breaker)::getWithException);
+
+        //then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("REJECTED", function.apply(false));
+    }
+
+    @Test
+    public void givenOpenBreakerWhenInvokingPrimitiveSupplierThenItsResolvedWithPrimitiveHandler() {
+        //given
+        CircuitBreaker breaker = CircuitBreaker.inAnyCase().slidingWindow(1).build();
+        CheckedLongSupplier<IOException> supplier = () -> fetchDangerously(true).length();
+        LongHandler handler = new LongHandler()
+                .inCaseOf(CallNotPermittedException.class).returnLong(-1)
+                .inCaseOf(IOException.class).rethrow(UncheckedIOException::new);
+
+        //when
+        assertThrows(UncheckedIOException.class, supplier.interceptWith(breaker).handleException(handler)::getAsLong);
+        long result = supplier.interceptWith(breaker).handleException(handler).getAsLong();
+
+        //then
+        assertEquals(-1, result);
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void givenNonPositiveOpenDurationWhenBuildingThenExceptionIsThrown() {
+        //given
+        CircuitBreaker.Builder builder = CircuitBreaker.inAnyCase();
+
+        //when
+        Duration openDuration = Duration.ZERO;
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> builder.openDuration(openDuration));
+        assertThrows(IllegalArgumentException.class, () -> builder.openDuration(openDuration.minusMillis(1)));
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgeTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final CountDownLatch stalledAttemptInterrupted = new CountDownLatch(1);
+
+    private String lookupWithFirstStall() throws IOException {
+        if (attempts.incrementAndGet() == 1) {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                stalledAttemptInterrupted.countDown();
+                throw new IOException("Interrupted");
+            }
+        }
+        return "attempt " + attempts.get();
+    }
+
+    @Test
+    public void givenStalledPrimaryWhenThresholdElapsesThenBackupWinsAndPrimaryIsCancelled() throws InterruptedException {
+        //given
+        CheckedSupplier<String, IOException> supplier = this::lookupWithFirstStall;
+
+        //when
+        String result = supplier.interceptWith(Hedge.after(Duration.ofMillis(20))).get();
+
+        //then
+        assertEquals("attempt 2", result);
+        assertTrue(stalledAttemptInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenFastPrimaryWhenInvokingThenNoBackupIsLaunched() {
+        //given
+        CheckedSupplier<String, IOException> supplier = () -> "attempt " + attempts.incrementAndGet();
+
+        //when
+        String result = supplier.interceptWith(Hedge.after(Duration.ofSeconds(5))).get();
+
+        //then
+        assertEquals("attempt 1", result);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void givenAllAttemptsFailingWhenInvokingThenFirstFailureIsResolved() {
+        //given
+        CheckedSupplier<String, Exception> supplier = () -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt == 1) {
+                Thread.sleep(50);
+            }
+            throw new IOException("attempt " + attempt);
+        };
+
+        //when
+        String result = supplier
+                .interceptWith(Hedge.after(Duration.ofMillis(10)))
+                .handleException(new ReferenceHandler<String>().inCaseOf(IOException.class).mapToValue(ex -> ex.getMessage() + " +" + ex.getSuppressed().length))
+                .get();
+
+        //then
+        assertEquals("attempt 2 +1", result);
+    }
+
+    @Test
+    public void givenPercentileHedgeWhenLatenciesAreObservedThenThresholdFollowsThem() {
+        //given
+        Hedge hedge = Hedge.atPercentile(0.9, Duration.ofSeconds(1));
+        CheckedSupplier<String, RuntimeException> supplier = () -> "fast";
+
+        //when
+        for (int i = 0; i < 32; i++) {
+            supplier.interceptWith(hedge).get();
+        }
+
+        //then
+        assertTrue(hedge.getThreshold().compareTo(Duration.ofMillis(100)) < 0);
+    }
+
+    @Test
+    public void givenStalledPrimariesWhenBackupsWinThenThresholdKeepsTrackOfThem() {
+        //given
+        Hedge hedge = Hedge.atPercentile(0.9, Duration.ofMillis(20));
+        CheckedSupplier<String, InterruptedException> supplier = () -> {
+            if (attempts.incrementAndGet() % 2 == 1) {
+                Thread.sleep(10_000);
+            }
+            return "backup";
+        };
+
+        //when
+        for (int i = 0; i < 32; i++) {
+            supplier.interceptWith(hedge).returnFallback("INTERRUPTED").get();
+        }
+
+        //then
+        assertTrue(hedge.getThreshold().compareTo(Duration.ofMillis(20)) >= 0);
+    }
+
+}
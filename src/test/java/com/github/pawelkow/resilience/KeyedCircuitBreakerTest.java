@@ -0,0 +1,111 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.github.pawelkow.function.CheckedFunction.wrap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyedCircuitBreakerTest {
+
+    private final Map<String, AtomicInteger> invocations = new ConcurrentHashMap<>();
+
+    private String readDangerously(String path) throws IOException {
+        invocations.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        if (path.startsWith("/broken")) {
+            throw new IOException("Cannot read " + path);
+        }
+        return "content of " + path;
+    }
+
+    private KeyedCircuitBreaker.Builder<String> breakers() {
+        return CircuitBreaker.inCaseOf(IOException.class)
+                .slidingWindow(2)
+                .minimumCalls(2)
+                .openDuration(Duration.ofMinutes(1))
+                .perKey(path -> path);
+    }
+
+    private Function<String, String> guarded(KeyedCircuitBreaker<String> breakers) {
+        return breakers.decorate(wrap(this::readDangerously))
+                .handleException(new ReferenceHandler<String>()
+                        .inCaseOf(CallNotPermittedException.class).returnValue("REJECTED")
+                        .inCaseOf(IOException.class).returnValue("FAILED"));
+    }
+
+    @Test
+    public void givenFailingKeyWhenInvokingThenOnlyThatKeyIsShortCircuited() {
+        //given
+        KeyedCircuitBreaker<String> breakers = breakers().build();
+        Function<String, String> function = guarded(breakers);
+
+        //when
+        function.apply("/broken");
+        function.apply("/broken");
+
+        //then
+        assertEquals("REJECTED", function.apply("/broken"));
+        assertEquals(2, invocations.get("/broken").get());
+        assertEquals("content of /healthy", function.apply("/healthy"));
+        assertEquals(CircuitBreaker.State.OPEN, breakers.breakerFor("/broken").getState());
+        assertEquals(CircuitBreaker.State.CLOSED, breakers.breakerFor("/healthy").getState());
+    }
+
+    @Test
+    public void givenManyDistinctKeysWhenInvokingThenNumberOfBreakersStaysBounded() {
+        //given
+        KeyedCircuitBreaker<String> breakers = breakers().maximumKeys(64).stripes(4).build();
+        Function<String, String> function = guarded(breakers);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            function.apply("/file-" + i);
+        }
+
+        //then
+        assertTrue(breakers.size() <= 64);
+    }
+
+    @Test
+    public void givenEvictedKeyWhenInvokingAgainThenItStartsWithClosedBreaker() {
+        //given
+        KeyedCircuitBreaker<String> breakers = breakers().maximumKeys(1).build();
+        Function<String, String> function = guarded(breakers);
+        function.apply("/broken");
+
+        //when
+        function.apply("/healthy");
+
+        //then
+        assertEquals(1, breakers.size());
+        assertEquals("FAILED", function.apply("/broken"));
+        assertEquals("FAILED", function.apply("/broken"));
+        assertEquals("REJECTED", function.apply("/broken"));
+    }
+
+    @Test
+    public void givenOpenBreakerWhenStripeIsFullThenItIsNotEvicted() {
+        //given
+        KeyedCircuitBreaker<String> breakers = breakers().maximumKeys(1).build();
+        Function<String, String> function = guarded(breakers);
+        function.apply("/broken");
+        function.apply("/broken");
+
+        //when
+        function.apply("/healthy");
+        function.apply("/other");
+
+        //then
+        assertEquals(2, breakers.size());
+        assertEquals("REJECTED", function.apply("/broken"));
+        assertEquals(2, invocations.get("/broken").get());
+    }
+
+}
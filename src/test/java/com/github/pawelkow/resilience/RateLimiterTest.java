@@ -0,0 +1,61 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.exception.handler.IntHandler;
+import com.github.pawelkow.function.CheckedIntSupplier;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    @Test
+    public void givenBurstExhaustedWhenInvokingThenItsRejectedIntoHandler() {
+        //given
+        RateLimiter limiter = RateLimiter.permits(3, Duration.ofMinutes(1)).build();
+        CheckedIntSupplier<RuntimeException> supplier = () -> 42;
+        IntSupplier limited = supplier.interceptWith(limiter)
+                .handleException(new IntHandler().inCaseOf(RateLimitExceededException.class).returnInt(-1));
+
+        //when
+        int[] results = {limited.getAsInt(), limited.getAsInt(), limited.getAsInt(), limited.getAsInt()};
+
+        //then
+        assertArrayEquals(new int[]{42, 42, 42, -1}, results);
+    }
+
+    @Test
+    public void givenMaxWaitWhenRateIsExceededThenInvocationWaitsForItsTurn() {
+        //given
+        RateLimiter limiter = RateLimiter.permits(1, Duration.ofMillis(30)).maxWait(Duration.ofSeconds(1)).build();
+        Supplier<String> limited = CheckedSupplier.wrap(() -> "OK").interceptWith(limiter).returnFallback("THROTTLED");
+
+        //when
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("OK", limited.get());
+        }
+
+        //then
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 50);
+    }
+
+    @Test
+    public void givenElapsedPeriodWhenTryingToAcquireThenPermitIsAvailableAgain() throws InterruptedException {
+        //given
+        RateLimiter limiter = RateLimiter.permits(1, Duration.ofMillis(20)).build();
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        //when
+        Thread.sleep(30);
+
+        //then
+        assertTrue(limiter.tryAcquire());
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.github.pawelkow.resilience;
+
+import com.github.pawelkow.concurrent.Deadline;
+import com.github.pawelkow.exception.handler.IntHandler;
+import com.github.pawelkow.function.CheckedIntSupplier;
+import com.github.pawelkow.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.pawelkow.function.CheckedSupplier.wrap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private String downloadDangerously(int failures) throws IOException {
+        if (attempts.incrementAndGet() <= failures) {
+            throw new SocketTimeoutException("Attempt " + attempts.get());
+        }
+        return "OK";
+    }
+
+    @Test
+    public void givenTransientFailuresWhenInvokingThenItsRetried() {
+        //given
+        CheckedSupplier<String, IOException> supplier = wrap(() -> downloadDangerously(2));
+
+        //when
+        String result = supplier.interceptWith(Retry.inCaseOf(SocketTimeoutException.class).times(3)).get();
+
+        //then
+        assertEquals("OK", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void givenPersistentFailuresWhenAttemptsRunOutThenLastFailureIsResolved() {
+        //given
+        CheckedSupplier<String, IOException> supplier = wrap(() -> downloadDangerously(Integer.MAX_VALUE));
+
+        //when
+        String result = supplier.interceptWith(Retry.inCaseOf(SocketTimeoutException.class).times(4))
+                .returnFallback("FALLBACK")
+                .get();
+
+        //then
+        assertEquals("FALLBACK", result);
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    public void givenNotRetryableFailureWhenInvokingThenItsNotRetried() {
+        //given
+        CheckedSupplier<String, IOException> supplier = () -> {
+            attempts.incrementAndGet();
+            throw new IOException("Fatal");
+        };
+
+        //when
+        assertThrows(UncheckedIOException.class, supplier.interceptWith(Retry.inCaseOf(SocketTimeoutException.class))::get);
+
+        //then
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void givenPrimitiveSupplierWhenRetryingThenItsResolvedWithPrimitiveHandler() {
+        //given
+        CheckedIntSupplier<IOException> supplier = () -> downloadDangerously(5).length();
+
+        //when
+        int result = supplier.interceptWith(Retry.inAnyCase().times(2))
+                .handleException(new IntHandler().inCaseOf(SocketTimeoutException.class).returnInt(-1))
+                .getAsInt();
+
+        //then
+        assertEquals(-1, result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void givenBackoffWhenRetryingThenItWaitsBetweenAttempts() {
+        //given
+        CheckedSupplier<String, IOException> supplier = wrap(() -> downloadDangerously(2));
+
+        //when
+        long start = System.nanoTime();
+        supplier.interceptWith(Retry.inAnyCase().backoff(Backoff.fixed(Duration.ofMillis(20)))).get();
+
+        //then
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 40);
+    }
+
+    @Test
+    public void givenExponentialBackoffWhenComputingDelaysThenTheyGrowUpToLimit() {
+        //given
+        Backoff backoff = Backoff.exponential(Duration.ofMillis(10), 2, Duration.ofMillis(50));
+
+        //when
+        long[] delays = {backoff.delayNanos(1), backoff.delayNanos(2), backoff.delayNanos(3), backoff.delayNanos(4)};
+
+        //then
+        assertEquals(Duration.ofMillis(10).toNanos(), delays[0]);
+        assertEquals(Duration.ofMillis(20).toNanos(), delays[1]);
+        assertEquals(Duration.ofMillis(40).toNanos(), delays[2]);
+        assertEquals(Duration.ofMillis(50).toNanos(), delays[3]);
+    }
+
+    @Test
+    public void givenJitterWhenComputingDelaysThenTheyStayWithinBounds() {
+        //given
+        Backoff backoff = Backoff.fixed(Duration.ofMillis(100)).withJitter(0.5);
+
+        //when
+        long delay = backoff.delayNanos(1);
+
+        //then
+        assertTrue(delay >= Duration.ofMillis(50).toNanos() && delay <= Duration.ofMillis(150).toNanos());
+    }
+
+    @Test
+    public void givenJitterWhenDelayIsCappedThenMaximumDelayIsNotExceeded() {
+        //given
+        Backoff backoff = Backoff.exponential(Duration.ofMillis(10), 2, Duration.ofMillis(50)).withJitter(1);
+
+        //when
+        long maxDelay = 0;
+        for (int i = 0; i < 1_000; i++) {
+            maxDelay = Math.max(maxDelay, backoff.delayNanos(10));
+        }
+
+        //then
+        assertTrue(maxDelay <= Duration.ofMillis(50).toNanos());
+        assertEquals(Duration.ofMillis(50).toNanos(), backoff.maxDelayNanos());
+    }
+
+    @Test
+    public void givenTransientFailuresWhenRetryingAsynchronouslyThenFutureCompletesWithResult() throws Exception {
+        //given
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        //when
+        CompletableFuture<String> future = Retry.inCaseOf(SocketTimeoutException.class)
+                .times(5)
+                .backoff(Backoff.fixed(Duration.ofMillis(5)))
+                .supplyAsync(() -> downloadDangerously(3), scheduler);
+
+        //then
+        try {
+            assertEquals("OK", future.get(5, TimeUnit.SECONDS));
+            assertEquals(4, attempts.get());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void givenDeadlineWhenRetryingAsynchronouslyThenNoAttemptIsScheduledAfterIt() throws Exception {
+        //given
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger attemptsWithDeadline = new AtomicInteger();
+
+        //when
+        CompletableFuture<String> future = Deadline.within(Duration.ofMillis(100), () -> Retry.inCaseOf(SocketTimeoutException.class)
+                .times(5)
+                .backoff(Backoff.fixed(Duration.ofMillis(300)))
+                .supplyAsync(() -> {
+                    if (Deadline.isSet()) {
+                        attemptsWithDeadline.incrementAndGet();
+                    }
+                    return downloadDangerously(Integer.MAX_VALUE);
+                }, scheduler));
+
+        //then
+        try {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof SocketTimeoutException);
+            assertEquals(1, attempts.get());
+            assertEquals(1, attemptsWithDeadline.get());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void givenPersistentFailuresWhenRetryingAsynchronouslyThenFutureCompletesWithLastFailure() {
+        //given
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        //when
+        CompletableFuture<String> future = Retry.inCaseOf(SocketTimeoutException.class)
+                .times(3)
+                .<Integer, String>applyAsync(this::downloadDangerously, scheduler)
+                .apply(Integer.MAX_VALUE);
+
+        //then
+        try {
+            assertEquals("Attempt 3", future.handle((result, ex) -> ex.getMessage()).join());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.github.pawelkow.stream;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckedSpliteratorTest {
+
+    private static Iterator<Integer> source(int size) {
+        return IntStream.range(0, size).iterator();
+    }
+
+    private static int readDangerously(Iterator<Integer> source) throws IOException {
+        int value = source.next();
+        if (value % 10 == 9) {
+            throw new IOException("Corrupted record: " + value);
+        }
+        return value;
+    }
+
+    @Test
+    public void givenSourceWithoutFailuresWhenStreamingThenAllElementsAreProvidedInOrder() {
+        //given
+        Iterator<Integer> source = source(100);
+
+        //when
+        List<Integer> values = StreamSupport.stream(CheckedSpliterator.of(source::hasNext, source::next), false)
+                .collect(toList());
+
+        //then
+        assertEquals(IntStream.range(0, 100).boxed().collect(toList()), values);
+    }
+
+    @Test
+    public void givenDefaultSpliteratorWhenSourceFailsThenItsMappedAndRethrown() {
+        //given
+        Iterator<Integer> source = source(100);
+
+        //when
+        Spliterator<Integer> spliterator = CheckedSpliterator.of(source::hasNext, () -> readDangerously(source));
+
+        //then
+        assertThrows(UncheckedIOException.class, () -> StreamSupport.stream(spliterator, false).forEach(value -> {
+        }));
+    }
+
+    @Test
+    public void givenResolverWhenSourceFailsThenFailedElementsAreResolved() {
+        //given
+        Iterator<Integer> source = source(30);
+
+        //when
+        List<Integer> values = CheckedSpliterator.stream(source::hasNext, () -> readDangerously(source), new ReferenceHandler<Integer>()
+                .inCaseOf(IOException.class).returnValue(-1), false)
+                .collect(toList());
+
+        //then
+        assertEquals(30, values.size());
+        assertEquals(Integer.valueOf(-1), values.get(29));
+    }
+
+    @Test
+    public void givenDiscardingResolverWhenSourceFailsThenFailedElementsAreSkipped() {
+        //given
+        Iterator<Integer> source = source(30);
+
+        //when
+        List<Integer> values = CheckedSpliterator.stream(source::hasNext, () -> readDangerously(source), new ReferenceHandler<Integer>()
+                .inCaseOf(IOException.class).discard(), false)
+                .collect(toList());
+
+        //then
+        assertEquals(27, values.size());
+    }
+
+    @Test
+    public void givenFailingHasNextWhenStreamingThenTraversalEnds() {
+        //given
+        Iterator<Integer> source = source(10);
+
+        //when
+        List<Integer> values = CheckedSpliterator.<Integer, IOException>stream(() -> {
+            if (!source.hasNext()) {
+                throw new IOException("Closed");
+            }
+            return true;
+        }, source::next, new ReferenceHandler<Integer>().inCaseOf(IOException.class).discard(), false)
+                .collect(toList());
+
+        //then
+        assertEquals(10, values.size());
+    }
+
+    @Test
+    public void givenLargeSourceWhenSplittingThenBatchesGrow() {
+        //given
+        Iterator<Integer> source = source(10_000);
+        Spliterator<Integer> spliterator = CheckedSpliterator.of(source::hasNext, source::next);
+
+        //when
+        Spliterator<Integer> firstBatch = spliterator.trySplit();
+        Spliterator<Integer> secondBatch = spliterator.trySplit();
+
+        //then
+        assertEquals(CheckedSpliterator.DEFAULT_BATCH_UNIT, firstBatch.estimateSize());
+        assertEquals(2 * CheckedSpliterator.DEFAULT_BATCH_UNIT, secondBatch.estimateSize());
+    }
+
+    @Test
+    public void givenParallelStreamWhenProcessingThenAllElementsAreProvided() {
+        //given
+        Iterator<Integer> source = source(10_000);
+
+        //when
+        long sum = CheckedSpliterator.stream(source::hasNext, () -> readDangerously(source), new ReferenceHandler<Integer>()
+                .inCaseOf(IOException.class).returnValue(0), true)
+                .mapToLong(Integer::longValue)
+                .sum();
+
+        //then
+        assertEquals(IntStream.range(0, 10_000).filter(i -> i % 10 != 9).asLongStream().sum(), sum);
+    }
+
+}
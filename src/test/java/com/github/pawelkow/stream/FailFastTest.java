@@ -0,0 +1,93 @@
+package com.github.pawelkow.stream;
+
+import com.github.pawelkow.exception.handler.ReferenceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailFastTest {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private String parseDangerously(int value) throws IOException {
+        invocations.incrementAndGet();
+        if (value == 0) {
+            throw new IOException("Fatal");
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative");
+        }
+        return String.valueOf(value);
+    }
+
+    @Test
+    public void givenNoFailuresWhenMappingThenResultsAreInEncounterOrder() throws IOException {
+        //given
+        List<Integer> values = IntStream.rangeClosed(1, 1_000).boxed().collect(toList());
+
+        //when
+        List<String> results = FailFast.on(IOException.class).map(values, this::parseDangerously);
+
+        //then
+        assertEquals(values.stream().map(String::valueOf).collect(toList()), results);
+    }
+
+    @Test
+    public void givenFatalFailureWhenMappingThenRemainingElementsAreSkippedAndFailureIsRethrown() {
+        //given
+        Stream<Integer> values = IntStream.range(0, 1_000_000).boxed();
+
+        //when
+        IOException exception = assertThrows(IOException.class, () -> FailFast.on(IOException.class).map(values, this::parseDangerously));
+
+        //then
+        assertEquals("Fatal", exception.getMessage());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void givenFatalFailureInParallelStreamWhenMappingThenOtherSplitsStopEarly() {
+        //given
+        Stream<Integer> values = IntStream.range(-1_000_000, 1_000_000).map(i -> i == 0 ? 0 : Math.abs(i)).boxed().parallel();
+
+        //when
+        assertThrows(IOException.class, () -> FailFast.on(IOException.class).map(values, this::parseDangerously));
+
+        //then
+        assertTrue(invocations.get() < 2_000_000);
+    }
+
+    @Test
+    public void givenNonFatalFailureWhenMappingThenItsResolved() throws IOException {
+        //given
+        Stream<Integer> values = Stream.of(1, -1, 2);
+
+        //when
+        List<String> results = FailFast.on(IOException.class)
+                .map(values, this::parseDangerously, new ReferenceHandler<String>()
+                        .inCaseOf(IllegalArgumentException.class).returnValue("?"));
+
+        //then
+        assertEquals(Stream.of("1", "?", "2").collect(toList()), results);
+    }
+
+    @Test
+    public void givenFatalFailureWhenConsumingThenFailureIsRethrown() {
+        //given
+        Stream<Integer> values = Stream.of(1, 2, 0, 3, 4);
+
+        //when
+        assertThrows(IOException.class, () -> FailFast.onAnyException().forEach(values, this::parseDangerously));
+
+        //then
+        assertEquals(3, invocations.get());
+    }
+
+}